@@ -2,8 +2,6 @@ package com.assignment.submissionservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Submission Service Application
@@ -20,9 +18,4 @@ public class SubmissionServiceApplication {
         System.out.println("📊 H2 Console: http://localhost:8082/h2-console");
         System.out.println("========================================\n");
     }
-
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
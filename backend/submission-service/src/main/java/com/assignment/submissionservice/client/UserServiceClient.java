@@ -0,0 +1,127 @@
+package com.assignment.submissionservice.client;
+
+import com.assignment.submissionservice.dto.UserBatchResponse;
+import com.assignment.submissionservice.dto.UserSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User Service Client
+ * Resolves student profiles through the user service's batch endpoint, one call per roster,
+ * with a short-lived cache; while the user service is unreachable callers get only cached entries
+ * Calls carry the shared service token, which the user service requires on /api/users/batch
+ * getVersion changes whenever a lookup returns something other than what was cached, so list tags
+ * can cover the resolved names without a lookup of their own
+ */
+@Component
+@Slf4j
+public class UserServiceClient {
+
+    // Matches the user service's default user.batch.max-ids
+    private static final int BATCH_LIMIT = 1000;
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private final RestTemplate restTemplate;
+    private final String batchUrl;
+    private final HttpHeaders headers = new HttpHeaders();
+    private final Duration retryAfter;
+    private final long cacheTtlMillis;
+    private final AtomicLong generation = new AtomicLong();
+    // Unknown ids are cached as empty so they do not trigger a call on every view
+    private final Cache<Long, Optional<UserSummary>> students;
+    private volatile long unavailableUntil;
+
+    public UserServiceClient(RestTemplate restTemplate,
+                             @Value("${user.service.url}") String userServiceUrl,
+                             @Value("${user.service.cache-ttl:PT5M}") Duration cacheTtl,
+                             @Value("${user.service.cache-max-size:10000}") long cacheMaxSize,
+                             @Value("${user.service.retry-after:PT30S}") Duration retryAfter,
+                             @Value("${user.service.token:}") String serviceToken) {
+        this.restTemplate = restTemplate;
+        this.batchUrl = userServiceUrl + "/api/users/batch";
+        if (!serviceToken.isEmpty()) {
+            headers.set(SERVICE_TOKEN_HEADER, serviceToken);
+        }
+        this.retryAfter = retryAfter;
+        this.cacheTtlMillis = Math.max(1, cacheTtl.toMillis());
+        this.students = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Changes when a lookup resolves a profile that differs from the cached one, and once per cache TTL
+     * so a tag carrying it never vouches for names longer than they may be cached
+     */
+    public String getVersion() {
+        return Long.toString(generation.get(), 36) + '.' + Long.toString(System.currentTimeMillis() / cacheTtlMillis, 36);
+    }
+
+    /**
+     * Student profiles keyed by id; ids the user service does not know, or cannot be asked about
+     * right now, are absent from the result
+     */
+    public Map<Long, UserSummary> getStudents(Collection<Long> studentIds) {
+        Set<Long> wanted = new LinkedHashSet<>();
+        studentIds.stream().filter(Objects::nonNull).forEach(wanted::add);
+
+        Map<Long, UserSummary> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Optional<UserSummary>> cached = students.getAllPresent(wanted);
+        for (Long id : wanted) {
+            Optional<UserSummary> entry = cached.get(id);
+            if (entry == null) {
+                missing.add(id);
+            } else {
+                entry.ifPresent(user -> found.put(id, user));
+            }
+        }
+        if (missing.isEmpty() || System.currentTimeMillis() < unavailableUntil) {
+            return found;
+        }
+
+        try {
+            for (int from = 0; from < missing.size(); from += BATCH_LIMIT) {
+                List<Long> chunk = missing.subList(from, Math.min(missing.size(), from + BATCH_LIMIT));
+                UserBatchResponse response = restTemplate.postForObject(batchUrl,
+                        new HttpEntity<>(Map.of("studentIds", chunk), headers), UserBatchResponse.class);
+                Map<Long, UserSummary> resolved = new HashMap<>();
+                if (response != null && response.students() != null) {
+                    response.students().forEach(user -> resolved.put(user.id(), user));
+                }
+                for (Long id : chunk) {
+                    Optional<UserSummary> user = Optional.ofNullable(resolved.get(id));
+                    // Not cached (or expired) also counts: the stored name may have been shown until now
+                    if (!user.equals(students.asMap().put(id, user))) {
+                        generation.incrementAndGet();
+                    }
+                }
+                found.putAll(resolved);
+            }
+        } catch (RestClientException e) {
+            unavailableUntil = System.currentTimeMillis() + retryAfter.toMillis();
+            log.warn("User service lookup failed, skipping it for {}: {}", retryAfter, e.getMessage());
+        }
+        return found;
+    }
+}
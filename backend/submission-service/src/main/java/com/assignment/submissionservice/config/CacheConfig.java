@@ -0,0 +1,57 @@
+package com.assignment.submissionservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration
+ * Bounded in-process caches for assignment reads, evicted by size and TTL.
+ * Evictions issued inside a transaction are applied after commit, so a concurrent
+ * reader cannot re-cache the pre-update row.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String ASSIGNMENTS = "assignments";
+    public static final String FACULTY_ASSIGNMENTS = "facultyAssignments";
+
+    @Value("${assignment.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${assignment.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${assignment.cache.ttl:60s}")
+    private Duration ttl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        if (!enabled) {
+            log.info("Assignment cache disabled");
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager caffeineCacheManager =
+                new CaffeineCacheManager(ASSIGNMENTS, FACULTY_ASSIGNMENTS);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        caffeineCacheManager.setAllowNullValues(false);
+
+        log.info("Assignment cache enabled (max size: {}, ttl: {})", maxSize, ttl);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
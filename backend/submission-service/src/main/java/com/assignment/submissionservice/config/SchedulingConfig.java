@@ -0,0 +1,13 @@
+package com.assignment.submissionservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables background maintenance jobs such as submission counter reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
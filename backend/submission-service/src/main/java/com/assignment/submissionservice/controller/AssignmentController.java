@@ -1,20 +1,32 @@
 package com.assignment.submissionservice.controller;
 
 import com.assignment.submissionservice.dto.AssignmentRequest;
+import com.assignment.submissionservice.dto.AssignmentSummary;
+import com.assignment.submissionservice.dto.GradeStatistics;
+import com.assignment.submissionservice.dto.StoredFile;
 import com.assignment.submissionservice.entity.Assignment;
 import com.assignment.submissionservice.service.AssignmentService;
+import com.assignment.submissionservice.service.GradeStatisticsService;
+import com.assignment.submissionservice.service.SubmissionExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Assignment Controller
@@ -28,6 +40,8 @@ import java.util.Map;
 public class AssignmentController {
 
     private final AssignmentService assignmentService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final SubmissionExportService submissionExportService;
 
     @PostMapping
     public ResponseEntity<?> createAssignment(@Valid @RequestBody AssignmentRequest request) {
@@ -94,16 +108,24 @@ public class AssignmentController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllAssignments() {
+    public ResponseEntity<?> getAllAssignments(
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Assignment> assignments = assignmentService.getAllAssignments();
+            String version = ETags.forCollection("assignment", assignmentService.getAssignmentsVersion());
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+            List<?> assignments = ListView.isFull(view)
+                    ? assignmentService.getAllAssignments()
+                    : assignmentService.getAssignmentSummaries();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", assignments.size());
             response.put("assignments", assignments);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
         } catch (Exception e) {
             log.error("Error fetching assignments: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -113,16 +135,55 @@ public class AssignmentController {
         }
     }
 
+    @GetMapping("/{id}/attachment")
+    public ResponseEntity<StreamingResponseBody> downloadAttachment(@PathVariable Long id, HttpServletRequest request) {
+        StoredFile file = assignmentService.getAttachment(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Attachment not found"));
+        try {
+            return FileDownloads.serve(file, request);
+        } catch (IOException e) {
+            log.error("Error reading assignment file {}: {}", id, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read file");
+        }
+    }
+
+    @GetMapping("/{id}/submissions.zip")
+    public ResponseEntity<StreamingResponseBody> downloadSubmissionBundle(@PathVariable Long id) {
+        try {
+            assignmentService.getAssignmentById(id);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+
+        log.info("Bundling submission files for assignment {}", id);
+        // Entries are written as the files are read; the archive is never staged or buffered whole
+        StreamingResponseBody body = out -> submissionExportService.writeSubmissionBundle(id, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"assignment-" + id + "-submissions.zip\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getAssignmentById(@PathVariable Long id) {
+    public ResponseEntity<?> getAssignmentById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Answer revalidation from the version probe before loading the entity
+            Optional<String> version = assignmentService.getAssignmentVersion(id)
+                    .map(updatedAt -> ETags.forEntity("assignment", id, updatedAt));
+            if (version.isPresent() && ETags.matches(ifNoneMatch, version.get())) {
+                return ETags.notModified(version.get());
+            }
             Assignment assignment = assignmentService.getAssignmentById(id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("assignment", assignment);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(ETags.forEntity("assignment", id, assignment.getUpdatedAt())).body(response);
         } catch (RuntimeException e) {
             log.error("Error fetching assignment: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -132,17 +193,55 @@ public class AssignmentController {
         }
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getGradeStatistics(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "" + GradeStatisticsService.DEFAULT_BUCKETS) int buckets) {
+        try {
+            Assignment assignment = assignmentService.getAssignmentById(id);
+            GradeStatistics statistics = gradeStatisticsService.getStatistics(assignment, buckets);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("statistics", statistics);
+            
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.error("Error fetching grade statistics: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
     @GetMapping("/faculty/{facultyId}")
-    public ResponseEntity<?> getAssignmentsByFaculty(@PathVariable Long facultyId) {
+    public ResponseEntity<?> getAssignmentsByFaculty(
+            @PathVariable Long facultyId,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Assignment> assignments = assignmentService.getAssignmentsByFaculty(facultyId);
+            String version = ETags.forCollection("assignment",
+                    assignmentService.getFacultyAssignmentsVersion(facultyId));
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+            // Served from the assignment cache, so summaries are mapped in memory. An entry that does
+            // not match the probe was cached before a write whose eviction is still pending and is reloaded
+            List<Assignment> cached = assignmentService.getAssignmentsByFaculty(facultyId);
+            if (!ETags.forCollection("assignment", cached, Assignment::getUpdatedAt).equals(version)) {
+                cached = assignmentService.reloadAssignmentsByFaculty(facultyId);
+            }
+            List<?> assignments = ListView.isFull(view)
+                    ? cached
+                    : cached.stream().map(AssignmentSummary::from).toList();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", assignments.size());
             response.put("assignments", assignments);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
         } catch (Exception e) {
             log.error("Error fetching assignments for faculty: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -153,9 +252,11 @@ public class AssignmentController {
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<?> getOverdueAssignments() {
+    public ResponseEntity<?> getOverdueAssignments(@RequestParam(defaultValue = ListView.SUMMARY) String view) {
         try {
-            List<Assignment> assignments = assignmentService.getOverdueAssignments();
+            List<?> assignments = ListView.isFull(view)
+                    ? assignmentService.getOverdueAssignments()
+                    : assignmentService.getOverdueAssignmentSummaries();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -175,9 +276,12 @@ public class AssignmentController {
     @GetMapping("/upcoming")
     public ResponseEntity<?> getUpcomingAssignments(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view) {
         try {
-            List<Assignment> assignments = assignmentService.getUpcomingAssignments(startDate, endDate);
+            List<?> assignments = ListView.isFull(view)
+                    ? assignmentService.getUpcomingAssignments(startDate, endDate)
+                    : assignmentService.getUpcomingAssignmentSummaries(startDate, endDate);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -194,6 +298,14 @@ public class AssignmentController {
         }
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("caches", assignmentService.getCacheStatistics());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<?> healthCheck() {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,65 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.FacultyDashboard;
+import com.assignment.submissionservice.dto.StudentDashboard;
+import com.assignment.submissionservice.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dashboard Controller
+ * REST API endpoints that return a whole dashboard in one response
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping("/faculty/{facultyId}/dashboard")
+    public ResponseEntity<?> getFacultyDashboard(@PathVariable Long facultyId) {
+        try {
+            FacultyDashboard dashboard = dashboardService.getFacultyDashboard(facultyId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("dashboard", dashboard);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error building faculty dashboard: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to load faculty dashboard");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/students/{studentId}/dashboard")
+    public ResponseEntity<?> getStudentDashboard(@PathVariable Long studentId) {
+        try {
+            StudentDashboard dashboard = dashboardService.getStudentDashboard(studentId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("dashboard", dashboard);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error building student dashboard: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to load student dashboard");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.CollectionVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags for conditional GETs
+ * An entity is tagged by id and updatedAt, a collection by row count and latest updatedAt,
+ * so a version probe query can answer If-None-Match without loading or serializing rows.
+ * List responses carry the probe's tag: it is read before the rows, so it is never newer than the body.
+ * Values resolved from another service are not covered by the probe and are added with withResolved.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String forEntity(String type, Object id, LocalDateTime updatedAt) {
+        return '"' + type + '-' + id + '-' + stamp(updatedAt) + '"';
+    }
+
+    static String forCollection(String type, CollectionVersion version) {
+        return forCollection(type, version.getCount(), version.getLastUpdated());
+    }
+
+    static <T> String forCollection(String type, Collection<T> items, Function<T, LocalDateTime> updatedAt) {
+        LocalDateTime lastUpdated = items.stream()
+                .map(updatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return forCollection(type, items.size(), lastUpdated);
+    }
+
+    static String forCollection(String type, long count, LocalDateTime lastUpdated) {
+        return '"' + type + "-list-" + count + '-' + stamp(lastUpdated) + '"';
+    }
+
+    /**
+     * Extends a tag with the version of values resolved from another service, such as current student
+     * names, so the tag changes when they do even though no local row did
+     */
+    static String withResolved(String etag, String resolvedVersion) {
+        return etag.substring(0, etag.length() - 1) + "-r" + resolvedVersion + '"';
+    }
+
+    /**
+     * A stored file is tagged by size and modification time, both read from one stat call
+     */
+    static String forFile(long size, Instant lastModified) {
+        return "\"file-" + Long.toString(size, 36) + '-' + Long.toString(lastModified.getEpochSecond(), 36) + '.'
+                + Integer.toString(lastModified.getNano() / 1000, 36) + '"';
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current tag (weak comparison, as RFC 9110 specifies)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 200 builder carrying the tag; no-cache lets clients store the body but revalidate every time
+     */
+    static ResponseEntity.BodyBuilder ok(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
+
+    // Microsecond precision matches what the database stores for the timestamp columns
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        return Long.toString(time.toEpochSecond(ZoneOffset.UTC), 36) + '.' + Integer.toString(time.getNano() / 1000, 36);
+    }
+}
@@ -0,0 +1,204 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Streams stored files straight from disk
+ * Responses carry an ETag and honour If-None-Match, a single byte Range and If-Range, so an
+ * interrupted download resumes where it stopped. On Tomcat the body is handed to the connector's
+ * sendfile, which copies file pages to the socket without passing through the JVM; elsewhere it is
+ * written with FileChannel.transferTo. The file is never read into the heap either way.
+ */
+final class FileDownloads {
+
+    // Request attributes of Tomcat's sendfile support (also used by its DefaultServlet)
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Below this a plain write is cheaper than setting up sendfile; the same default Tomcat uses
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private FileDownloads() {
+    }
+
+    /**
+     * Byte range with an inclusive end
+     */
+    record Range(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    /**
+     * Callers declare ResponseEntity<StreamingResponseBody>; Spring only streams the body for that type
+     */
+    static ResponseEntity<StreamingResponseBody> serve(StoredFile file, HttpServletRequest request) throws IOException {
+        Path path = file.path();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        Instant lastModified = attributes.lastModifiedTime().toInstant();
+        String etag = ETags.forFile(size, lastModified);
+
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ETags.notModified(etag);
+        }
+
+        Range range = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeStillValid(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            try {
+                range = parseRange(rangeHeader, size);
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+        }
+        Range body = range != null ? range : new Range(0, size - 1);
+
+        HttpStatus status = range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaTypeFactory.getMediaType(file.filename()).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(file.filename()))
+                .contentLength(body.length());
+        if (range != null) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + size);
+        }
+        if (body.length() == 0 || "HEAD".equals(request.getMethod())) {
+            return response.build();
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && body.length() >= SENDFILE_THRESHOLD) {
+            // The connector sends the file itself once the headers are written; the end is exclusive
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, body.start());
+            request.setAttribute(SENDFILE_END, body.end() + 1);
+            return response.build();
+        }
+        StreamingResponseBody stream = out -> transfer(path, body, Channels.newChannel(out));
+        return response.body(stream);
+    }
+
+    // Plain ASCII names go out as-is; others also get the RFC 5987 filename* form
+    private static String contentDisposition(String filename) {
+        ContentDisposition.Builder builder = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(filename)) {
+            builder.filename(filename);
+        } else {
+            builder.filename(filename, StandardCharsets.UTF_8);
+        }
+        return builder.build().toString();
+    }
+
+    /**
+     * Parses a single "bytes=" range against the file size
+     *
+     * @return The range, or null when the header should be ignored and the whole file sent
+     * @throws IllegalStateException If the range starts beyond the end of the file
+     */
+    static Range parseRange(String header, long size) {
+        String value = header.trim();
+        if (!value.regionMatches(true, 0, "bytes=", 0, 6)) {
+            return null;
+        }
+        String spec = value.substring(6).trim();
+        // Multipart byteranges responses are not produced; RFC 9110 allows answering with the whole file
+        if (spec.contains(",")) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the final N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    throw new IllegalStateException("Unsatisfiable range");
+                }
+                return new Range(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                throw new IllegalStateException("Unsatisfiable range");
+            }
+            return new Range(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * If-Range holds either an entity tag or a date; a range is only served when it still names this version
+     */
+    private static boolean rangeStillValid(String ifRange, String etag, Instant lastModified) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // If-Range requires a strong comparison
+            return value.equals(etag);
+        }
+        try {
+            Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.getEpochSecond() == lastModified.getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(Path path, Range range, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    // The file was truncated while it was being sent
+                    throw new IOException("File ended before the requested range was sent");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
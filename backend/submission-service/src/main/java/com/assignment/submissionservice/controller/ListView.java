@@ -0,0 +1,18 @@
+package com.assignment.submissionservice.controller;
+
+/**
+ * The ?view= parameter of list endpoints
+ * Lists return summary projections without TEXT columns unless view=full is requested
+ */
+final class ListView {
+
+    static final String SUMMARY = "summary";
+    static final String FULL = "full";
+
+    private ListView() {
+    }
+
+    static boolean isFull(String view) {
+        return FULL.equalsIgnoreCase(view);
+    }
+}
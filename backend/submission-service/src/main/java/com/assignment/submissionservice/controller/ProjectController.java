@@ -6,6 +6,7 @@ import com.assignment.submissionservice.entity.Project.ProjectStatus;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Project Controller
@@ -97,15 +99,23 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<?> getProjectById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Answer revalidation from the version probe before loading the entity
+            Optional<String> version = projectService.getProjectVersion(id)
+                    .map(updatedAt -> ETags.forEntity("project", id, updatedAt));
+            if (version.isPresent() && ETags.matches(ifNoneMatch, version.get())) {
+                return ETags.notModified(version.get());
+            }
             Project project = projectService.getProjectById(id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("project", project);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(ETags.forEntity("project", id, project.getUpdatedAt())).body(response);
         } catch (RuntimeException e) {
             log.error("Error fetching project: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -116,16 +126,24 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllProjects() {
+    public ResponseEntity<?> getAllProjects(
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Project> projects = projectService.getAllProjects();
+            String version = ETags.forCollection("project", projectService.getProjectsVersion());
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+            List<?> projects = ListView.isFull(view)
+                    ? projectService.getAllProjects()
+                    : projectService.getProjectSummaries();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", projects.size());
             response.put("projects", projects);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
         } catch (Exception e) {
             log.error("Error fetching projects: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -136,16 +154,25 @@ public class ProjectController {
     }
 
     @GetMapping("/faculty/{facultyId}")
-    public ResponseEntity<?> getProjectsByFaculty(@PathVariable Long facultyId) {
+    public ResponseEntity<?> getProjectsByFaculty(
+            @PathVariable Long facultyId,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Project> projects = projectService.getProjectsByFaculty(facultyId);
+            String version = ETags.forCollection("project", projectService.getFacultyProjectsVersion(facultyId));
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+            List<?> projects = ListView.isFull(view)
+                    ? projectService.getProjectsByFaculty(facultyId)
+                    : projectService.getProjectSummariesByFaculty(facultyId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", projects.size());
             response.put("projects", projects);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
         } catch (Exception e) {
             log.error("Error fetching projects: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -156,16 +183,25 @@ public class ProjectController {
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<?> getProjectsByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<?> getProjectsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Project> projects = projectService.getProjectsByStudent(studentId);
+            String version = ETags.forCollection("project", projectService.getStudentProjectsVersion(studentId));
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+            List<?> projects = ListView.isFull(view)
+                    ? projectService.getProjectsByStudent(studentId)
+                    : projectService.getProjectSummariesByStudent(studentId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", projects.size());
             response.put("projects", projects);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
         } catch (Exception e) {
             log.error("Error fetching projects: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -176,16 +212,25 @@ public class ProjectController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<?> getProjectsByStatus(@PathVariable ProjectStatus status) {
+    public ResponseEntity<?> getProjectsByStatus(
+            @PathVariable ProjectStatus status,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Project> projects = projectService.getProjectsByStatus(status);
+            String version = ETags.forCollection("project", projectService.getProjectsByStatusVersion(status));
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
+            List<?> projects = ListView.isFull(view)
+                    ? projectService.getProjectsByStatus(status)
+                    : projectService.getProjectSummariesByStatus(status);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", projects.size());
             response.put("projects", projects);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
         } catch (Exception e) {
             log.error("Error fetching projects: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -1,20 +1,37 @@
 package com.assignment.submissionservice.controller;
 
+import com.assignment.submissionservice.dto.BatchGradeRequest;
+import com.assignment.submissionservice.dto.CursorPage;
 import com.assignment.submissionservice.dto.GradeRequest;
+import com.assignment.submissionservice.dto.GradeResult;
+import com.assignment.submissionservice.dto.StoredFile;
+import com.assignment.submissionservice.dto.SubmissionFilesRequest;
 import com.assignment.submissionservice.dto.SubmissionRequest;
+import com.assignment.submissionservice.dto.UploadedFile;
+import com.assignment.submissionservice.entity.AssignmentSubmissionCount;
 import com.assignment.submissionservice.entity.Submission;
+import com.assignment.submissionservice.entity.SubmissionFile;
+import com.assignment.submissionservice.service.FileUploadService;
+import com.assignment.submissionservice.service.SubmissionExportService;
 import com.assignment.submissionservice.service.SubmissionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Submission Controller
@@ -28,6 +45,8 @@ import java.util.Map;
 public class SubmissionController {
 
     private final SubmissionService submissionService;
+    private final SubmissionExportService submissionExportService;
+    private final FileUploadService fileUploadService;
 
     @PostMapping
     public ResponseEntity<?> submitAssignment(@Valid @RequestBody SubmissionRequest request) {
@@ -56,6 +75,77 @@ public class SubmissionController {
         }
     }
 
+    /**
+     * Submit several files in one multipart request (parts named "files" plus the submission fields)
+     * Files are stored before the submission is saved, so no transaction is held during the upload
+     */
+    @PostMapping(value = "/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitAssignmentFiles(@Valid @ModelAttribute SubmissionFilesRequest request) {
+        try {
+            log.info("Student {} submitting {} files for assignment {}",
+                    request.getStudentId(), request.getFiles().size(), request.getAssignmentId());
+            List<UploadedFile> files = fileUploadService.uploadFiles(request.getFiles());
+            Submission submission = submissionService.submitAssignment(request.toSubmissionRequest(), files);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Assignment submitted successfully");
+            response.put("submission", submission);
+            response.put("files", files);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Submission error: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error submitting assignment files: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to submit assignment: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @PutMapping(value = "/{id}/resubmit/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> resubmitAssignmentFiles(
+            @PathVariable Long id,
+            @Valid @ModelAttribute SubmissionFilesRequest request) {
+        try {
+            log.info("Resubmitting submission {} with {} files", id, request.getFiles().size());
+            List<UploadedFile> files = fileUploadService.uploadFiles(request.getFiles());
+            Submission submission = submissionService.resubmitAssignment(id, request.toSubmissionRequest(), files);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Assignment resubmitted successfully");
+            response.put("submission", submission);
+            response.put("files", files);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.error("Resubmission error: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (IOException e) {
+            log.error("Error storing resubmitted files: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to store files: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        } catch (RuntimeException e) {
+            log.error("Error resubmitting assignment: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
     @PutMapping("/{id}/resubmit")
     public ResponseEntity<?> resubmitAssignment(
             @PathVariable Long id,
@@ -102,16 +192,99 @@ public class SubmissionController {
         }
     }
 
+    @PutMapping("/grade/batch")
+    public ResponseEntity<?> gradeSubmissions(@Valid @RequestBody BatchGradeRequest request) {
+        try {
+            log.info("Batch grading {} submissions", request.getGrades().size());
+            List<GradeResult> results = submissionService.gradeSubmissions(request.getGrades());
+            long graded = results.stream().filter(GradeResult::isSuccess).count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", String.format("Graded %d of %d submissions", graded, results.size()));
+            response.put("graded", graded);
+            response.put("failed", results.size() - graded);
+            response.put("results", results);
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.error("Batch grading rejected: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error batch grading submissions: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to grade submissions: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<StreamingResponseBody> downloadSubmissionFile(@PathVariable Long id, HttpServletRequest request) {
+        StoredFile file = submissionService.getSubmissionFile(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Submission file not found"));
+        try {
+            return FileDownloads.serve(file, request);
+        } catch (IOException e) {
+            log.error("Error reading submission file {}: {}", id, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read file");
+        }
+    }
+
+    @GetMapping("/{id}/files")
+    public ResponseEntity<?> getSubmissionFiles(@PathVariable Long id) {
+        try {
+            List<SubmissionFile> files = submissionService.getSubmissionFiles(id);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("files", files);
+            response.put("count", files.size());
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.error("Error fetching submission files: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/{id}/files/{position}")
+    public ResponseEntity<StreamingResponseBody> downloadSubmissionFileAt(
+            @PathVariable Long id, @PathVariable int position, HttpServletRequest request) {
+        StoredFile file = submissionService.getSubmissionFile(id, position)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Submission file not found"));
+        try {
+            return FileDownloads.serve(file, request);
+        } catch (IOException e) {
+            log.error("Error reading file {} of submission {}: {}", position, id, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read file");
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getSubmissionById(@PathVariable Long id) {
+    public ResponseEntity<?> getSubmissionById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Answer revalidation from the version probe before loading the entity
+            Optional<String> version = submissionService.getSubmissionVersion(id)
+                    .map(updatedAt -> ETags.forEntity("submission", id, updatedAt));
+            if (version.isPresent() && ETags.matches(ifNoneMatch, version.get())) {
+                return ETags.notModified(version.get());
+            }
             Submission submission = submissionService.getSubmissionById(id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("submission", submission);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(ETags.forEntity("submission", id, submission.getUpdatedAt())).body(response);
         } catch (RuntimeException e) {
             log.error("Error fetching submission: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -122,16 +295,49 @@ public class SubmissionController {
     }
 
     @GetMapping("/assignment/{assignmentId}")
-    public ResponseEntity<?> getSubmissionsByAssignment(@PathVariable Long assignmentId) {
+    public ResponseEntity<?> getSubmissionsByAssignment(
+            @PathVariable Long assignmentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Submission> submissions = submissionService.getSubmissionsByAssignment(assignmentId);
-            
+            String version = ETags.forCollection("submission",
+                    submissionService.getAssignmentSubmissionsVersion(assignmentId));
+            if (!ListView.isFull(view)) {
+                // Summaries show student names resolved from the user service, which the rows do not cover
+                version = ETags.withResolved(version, submissionService.getStudentNamesVersion());
+            }
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("count", submissions.size());
-            response.put("submissions", submissions);
+
+            if (unpaged) {
+                List<?> submissions = ListView.isFull(view)
+                        ? submissionService.getSubmissionsByAssignment(assignmentId)
+                        : submissionService.getSubmissionSummariesByAssignment(assignmentId);
+                response.put("count", submissions.size());
+                response.put("submissions", submissions);
+                return ETags.ok(version).body(response);
+            }
+
+            CursorPage<?> page = ListView.isFull(view)
+                    ? submissionService.getSubmissionsByAssignmentPage(assignmentId, cursor, limit)
+                    : submissionService.getSubmissionSummariesByAssignmentPage(assignmentId, cursor, limit);
+            response.put("count", page.getItems().size());
+            response.put("submissions", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             log.error("Error fetching submissions: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -142,16 +348,45 @@ public class SubmissionController {
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<?> getSubmissionsByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<?> getSubmissionsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean unpaged,
+            @RequestParam(defaultValue = ListView.SUMMARY) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Submission> submissions = submissionService.getSubmissionsByStudent(studentId);
-            
+            String version = ETags.forCollection("submission",
+                    submissionService.getStudentSubmissionsVersion(studentId));
+            if (ETags.matches(ifNoneMatch, version)) {
+                return ETags.notModified(version);
+            }
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("count", submissions.size());
-            response.put("submissions", submissions);
+
+            if (unpaged) {
+                List<?> submissions = ListView.isFull(view)
+                        ? submissionService.getSubmissionsByStudent(studentId)
+                        : submissionService.getSubmissionSummariesByStudent(studentId);
+                response.put("count", submissions.size());
+                response.put("submissions", submissions);
+                return ETags.ok(version).body(response);
+            }
+
+            CursorPage<?> page = ListView.isFull(view)
+                    ? submissionService.getSubmissionsByStudentPage(studentId, cursor, limit)
+                    : submissionService.getSubmissionSummariesByStudentPage(studentId, cursor, limit);
+            response.put("count", page.getItems().size());
+            response.put("submissions", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(version).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             log.error("Error fetching submissions: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -164,8 +399,14 @@ public class SubmissionController {
     @GetMapping("/assignment/{assignmentId}/student/{studentId}")
     public ResponseEntity<?> getStudentSubmission(
             @PathVariable Long assignmentId,
-            @PathVariable Long studentId) {
+            @PathVariable Long studentId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            Optional<String> version = submissionService.getStudentSubmissionVersion(assignmentId, studentId)
+                    .map(updatedAt -> ETags.forEntity("submission", assignmentId + "-" + studentId, updatedAt));
+            if (version.isPresent() && ETags.matches(ifNoneMatch, version.get())) {
+                return ETags.notModified(version.get());
+            }
             Submission submission = submissionService.getStudentSubmission(assignmentId, studentId);
             
             if (submission == null) {
@@ -180,7 +421,8 @@ public class SubmissionController {
             response.put("success", true);
             response.put("submission", submission);
             
-            return ResponseEntity.ok(response);
+            return ETags.ok(ETags.forEntity("submission", assignmentId + "-" + studentId, submission.getUpdatedAt()))
+                    .body(response);
         } catch (Exception e) {
             log.error("Error fetching submission: {}", e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -193,11 +435,15 @@ public class SubmissionController {
     @GetMapping("/assignment/{assignmentId}/count")
     public ResponseEntity<?> countSubmissionsByAssignment(@PathVariable Long assignmentId) {
         try {
-            long count = submissionService.countSubmissionsByAssignment(assignmentId);
+            AssignmentSubmissionCount counts = submissionService.getSubmissionCounts(assignmentId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("count", count);
+            response.put("count", counts.getTotal());
+            response.put("submitted", counts.getSubmitted());
+            response.put("graded", counts.getGraded());
+            response.put("resubmitted", counts.getResubmitted());
+            response.put("rejected", counts.getRejected());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -209,6 +455,28 @@ public class SubmissionController {
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @RequestParam(required = false) Long assignmentId,
+            @RequestParam(defaultValue = SubmissionExportService.FORMAT_NDJSON) String format) {
+        if (!SubmissionExportService.isSupportedFormat(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format. Use ndjson or csv");
+        }
+
+        log.info("Exporting submissions as {} (assignment: {})", format, assignmentId);
+        boolean csv = SubmissionExportService.FORMAT_CSV.equalsIgnoreCase(format);
+        String filename = (assignmentId == null ? "submissions" : "submissions-assignment-" + assignmentId)
+                + (csv ? ".csv" : ".ndjson");
+
+        // Rows are written as the cursor advances, so the response starts before the query completes
+        StreamingResponseBody body = out -> submissionExportService.exportSubmissions(assignmentId, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<?> healthCheck() {
         Map<String, Object> response = new HashMap<>();
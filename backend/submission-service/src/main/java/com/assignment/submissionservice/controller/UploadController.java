@@ -0,0 +1,147 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.UploadSessionRequest;
+import com.assignment.submissionservice.entity.UploadSession;
+import com.assignment.submissionservice.service.ChunkedUploadService;
+import com.assignment.submissionservice.service.UploadGarbageCollector;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Upload Controller
+ * REST API endpoints for resumable chunked uploads: create a session, PUT chunks by offset in any
+ * order (retrying any that fail), then complete it to get the fileUrl to submit
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class UploadController {
+
+    static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final UploadGarbageCollector uploadGarbageCollector;
+
+    @PostMapping
+    public ResponseEntity<?> createSession(@Valid @RequestBody UploadSessionRequest request) {
+        try {
+            UploadSession session = chunkedUploadService.createSession(request);
+
+            Map<String, Object> response = sessionResponse(session);
+            response.put("message", "Upload session created");
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            log.error("Error creating upload session: {}", e.getMessage());
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create upload session");
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSession(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(sessionResponse(chunkedUploadService.getSession(id)));
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @PutMapping(value = "/{id}/chunks", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String id,
+            @RequestParam long offset,
+            @RequestHeader(value = CHUNK_CHECKSUM_HEADER, required = false) String checksum,
+            HttpServletRequest request) {
+        try {
+            UploadSession session = chunkedUploadService.writeChunk(id, offset, checksum, request.getInputStream());
+            return ResponseEntity.ok(sessionResponse(session));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected chunk at offset {} of upload {}: {}", offset, id, e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            log.error("Error writing chunk at offset {} of upload {}: {}", offset, id, e.getMessage());
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to write chunk, please retry it");
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String id) {
+        try {
+            String fileUrl = chunkedUploadService.complete(id);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Upload completed");
+            response.put("fileUrl", fileUrl);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelUpload(@PathVariable String id) {
+        try {
+            chunkedUploadService.cancel(id);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Upload cancelled");
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/gc/stats")
+    public ResponseEntity<?> getGarbageCollectionStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("garbageCollection", uploadGarbageCollector.getStatistics());
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> sessionResponse(UploadSession session) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("uploadId", session.getId());
+        response.put("filename", session.getFilename());
+        response.put("size", session.getSize());
+        response.put("chunkSize", session.getChunkSize());
+        response.put("totalChunks", session.getTotalChunks());
+        response.put("receivedChunks", session.getReceivedChunks().cardinality());
+        response.put("missingChunks", session.getMissingChunks());
+        response.put("complete", session.isComplete());
+        return response;
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
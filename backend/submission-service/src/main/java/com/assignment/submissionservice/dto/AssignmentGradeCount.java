@@ -0,0 +1,13 @@
+package com.assignment.submissionservice.dto;
+
+/**
+ * Projection of how many submissions of one assignment received a given grade
+ */
+public interface AssignmentGradeCount {
+
+    Long getAssignmentId();
+
+    Integer getGrade();
+
+    long getCount();
+}
@@ -0,0 +1,15 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+
+/**
+ * Projection of a grouped submission count for one assignment and status
+ */
+public interface AssignmentStatusCount {
+
+    Long getAssignmentId();
+
+    SubmissionStatus getStatus();
+
+    long getCount();
+}
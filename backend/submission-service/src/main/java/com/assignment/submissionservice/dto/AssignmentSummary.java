@@ -0,0 +1,29 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Assignment;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an assignment without the description and attachment TEXT columns
+ * Repository methods returning this type select only these columns
+ */
+public record AssignmentSummary(
+        Long id,
+        String title,
+        String course,
+        Long facultyId,
+        String facultyName,
+        LocalDateTime dueDate,
+        Integer maxPoints,
+        Boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static AssignmentSummary from(Assignment assignment) {
+        return new AssignmentSummary(assignment.getId(), assignment.getTitle(), assignment.getCourse(),
+                assignment.getFacultyId(), assignment.getFacultyName(), assignment.getDueDate(),
+                assignment.getMaxPoints(), assignment.getActive(), assignment.getCreatedAt(),
+                assignment.getUpdatedAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.assignment.submissionservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO for grading many submissions in one request
+ * Grades are keyed by submission ID
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGradeRequest {
+
+    @NotEmpty(message = "At least one grade is required")
+    private Map<@NotNull Long, @NotNull @Valid GradeRequest> grades = new LinkedHashMap<>();
+}
@@ -0,0 +1,13 @@
+package com.assignment.submissionservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a collection's row count and latest update, used as a cheap change probe
+ */
+public interface CollectionVersion {
+
+    long getCount();
+
+    LocalDateTime getLastUpdated();
+}
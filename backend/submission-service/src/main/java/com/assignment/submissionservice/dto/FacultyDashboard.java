@@ -0,0 +1,57 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Project.ProjectStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a faculty member's assignments with submission counts and project status totals
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacultyDashboard {
+
+    private Long facultyId;
+
+    private List<AssignmentOverview> assignments;
+
+    private Map<ProjectStatus, Long> projectStatusTotals;
+
+    private long totalProjects;
+
+    /**
+     * One assignment and how many of its submissions are graded or still waiting
+     * ungraded covers submitted and resubmitted work
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssignmentOverview {
+
+        private Long id;
+
+        private String title;
+
+        private String course;
+
+        private LocalDateTime dueDate;
+
+        private Integer maxPoints;
+
+        private Boolean active;
+
+        private long submitted;
+
+        private long graded;
+
+        private long ungraded;
+
+        private long rejected;
+    }
+}
@@ -0,0 +1,11 @@
+package com.assignment.submissionservice.dto;
+
+/**
+ * Projection of a stored file's relative path and original name
+ */
+public interface FileReference {
+
+    String getPath();
+
+    String getName();
+}
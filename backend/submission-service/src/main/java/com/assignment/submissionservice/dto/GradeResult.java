@@ -0,0 +1,22 @@
+package com.assignment.submissionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one item in a batch grading request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeResult {
+
+    private Long submissionId;
+
+    private boolean success;
+
+    private Integer grade;
+
+    private String message;
+}
@@ -0,0 +1,53 @@
+package com.assignment.submissionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the grade distribution of one assignment
+ * Averages and percentiles are null until at least one submission is graded
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeStatistics {
+
+    private Long assignmentId;
+
+    private Integer maxPoints;
+
+    private long count;
+
+    private Double mean;
+
+    private Double median;
+
+    private Double stddev;
+
+    private Integer min;
+
+    private Integer max;
+
+    private Map<String, Integer> percentiles;
+
+    private List<Bucket> histogram;
+
+    /**
+     * Number of grades in the inclusive range [from, to]
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        private int from;
+
+        private int to;
+
+        private long count;
+    }
+}
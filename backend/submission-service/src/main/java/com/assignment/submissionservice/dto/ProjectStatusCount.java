@@ -0,0 +1,13 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Project.ProjectStatus;
+
+/**
+ * Projection of a grouped project count for one status
+ */
+public interface ProjectStatusCount {
+
+    ProjectStatus getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,25 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Project.ProjectStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a project without the description, milestones and deliverables TEXT columns
+ * Repository methods returning this type select only these columns
+ */
+public record ProjectSummary(
+        Long id,
+        String title,
+        Long facultyId,
+        String facultyName,
+        Long studentId,
+        String studentName,
+        LocalDateTime deadline,
+        Integer progress,
+        ProjectStatus status,
+        Integer totalMilestones,
+        Integer completedMilestones,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
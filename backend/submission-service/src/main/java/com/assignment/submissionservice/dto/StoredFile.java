@@ -0,0 +1,9 @@
+package com.assignment.submissionservice.dto;
+
+import java.nio.file.Path;
+
+/**
+ * A file in the upload directory together with the name it is downloaded as
+ */
+public record StoredFile(Path path, String filename) {
+}
@@ -0,0 +1,30 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an active assignment joined with one student's submission
+ * Submission fields are null when the student has not submitted
+ */
+public interface StudentAssignmentRow {
+
+    Long getAssignmentId();
+
+    String getTitle();
+
+    String getCourse();
+
+    LocalDateTime getDueDate();
+
+    Integer getMaxPoints();
+
+    Long getSubmissionId();
+
+    SubmissionStatus getStatus();
+
+    Integer getGrade();
+
+    LocalDateTime getSubmittedAt();
+}
@@ -0,0 +1,60 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a student's active assignments with their own submission state
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDashboard {
+
+    private Long studentId;
+
+    private List<AssignmentProgress> assignments;
+
+    private long submitted;
+
+    private long graded;
+
+    private long pending;
+
+    private long late;
+
+    /**
+     * One active assignment and the student's submission for it, if any
+     * late means submitted after the due date, or not submitted once it has passed
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssignmentProgress {
+
+        private Long assignmentId;
+
+        private String title;
+
+        private String course;
+
+        private LocalDateTime dueDate;
+
+        private Integer maxPoints;
+
+        private Long submissionId;
+
+        private SubmissionStatus status;
+
+        private Integer grade;
+
+        private LocalDateTime submittedAt;
+
+        private boolean late;
+    }
+}
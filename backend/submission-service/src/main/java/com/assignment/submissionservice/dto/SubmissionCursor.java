@@ -0,0 +1,57 @@
+package com.assignment.submissionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position within a submission listing ordered by (submittedAt, id)
+ * Serialized as an opaque URL-safe token so clients never build it by hand
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime submittedAt;
+
+    private Long id;
+
+    public String encode() {
+        String raw = submittedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @param token The cursor token, may be null or blank for the first page
+     * @return The decoded cursor, or null when no token was supplied
+     * @throws IllegalArgumentException If the token is malformed
+     */
+    public static SubmissionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SubmissionCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    Long.valueOf(raw.substring(split + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
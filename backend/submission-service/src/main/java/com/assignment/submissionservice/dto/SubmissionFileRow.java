@@ -0,0 +1,17 @@
+package com.assignment.submissionservice.dto;
+
+/**
+ * Projection of a submission's student and one of its stored files, for file bundles
+ */
+public interface SubmissionFileRow {
+
+    Long getId();
+
+    Long getStudentId();
+
+    String getStudentName();
+
+    String getFileUrl();
+
+    String getFileName();
+}
@@ -0,0 +1,40 @@
+package com.assignment.submissionservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * Multipart form for submitting assignments as several files in one request
+ * The form fields match SubmissionRequest; each file is a part named "files"
+ */
+@Data
+@NoArgsConstructor
+public class SubmissionFilesRequest {
+
+    @NotNull(message = "Assignment ID is required")
+    private Long assignmentId;
+
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    @NotBlank(message = "Student name is required")
+    private String studentName;
+
+    @NotBlank(message = "Student email is required")
+    private String studentEmail;
+
+    private String comments;
+
+    @NotEmpty(message = "At least one file is required")
+    private List<MultipartFile> files;
+
+    public SubmissionRequest toSubmissionRequest() {
+        return new SubmissionRequest(assignmentId, studentId, studentName, studentEmail, null, null, comments);
+    }
+}
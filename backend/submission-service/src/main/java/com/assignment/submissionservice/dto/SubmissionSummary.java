@@ -0,0 +1,28 @@
+package com.assignment.submissionservice.dto;
+
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a submission without the fileUrl, comments and feedback TEXT columns
+ * Repository methods returning this type select only these columns
+ */
+public record SubmissionSummary(
+        Long id,
+        Long assignmentId,
+        Long studentId,
+        String studentName,
+        String studentEmail,
+        String fileName,
+        SubmissionStatus status,
+        Integer grade,
+        LocalDateTime gradedAt,
+        LocalDateTime submittedAt,
+        LocalDateTime updatedAt) {
+
+    public SubmissionSummary withStudent(String name, String email) {
+        return new SubmissionSummary(id, assignmentId, studentId, name, email, fileName, status, grade,
+                gradedAt, submittedAt, updatedAt);
+    }
+}
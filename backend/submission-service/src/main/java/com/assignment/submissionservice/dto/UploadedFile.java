@@ -0,0 +1,7 @@
+package com.assignment.submissionservice.dto;
+
+/**
+ * A file stored from a multipart request: its stored path, the name it was uploaded as and its size
+ */
+public record UploadedFile(String fileUrl, String fileName, long size) {
+}
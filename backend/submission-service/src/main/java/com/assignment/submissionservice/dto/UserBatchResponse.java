@@ -0,0 +1,9 @@
+package com.assignment.submissionservice.dto;
+
+import java.util.List;
+
+/**
+ * Response body of the user service's POST /api/users/batch
+ */
+public record UserBatchResponse(List<UserSummary> students, List<UserSummary> faculty) {
+}
@@ -0,0 +1,7 @@
+package com.assignment.submissionservice.dto;
+
+/**
+ * Account profile returned by the user service's batch lookup
+ */
+public record UserSummary(Long id, String name, String email, String department, String role, Boolean active) {
+}
@@ -0,0 +1,36 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Assignment Grade Stats Entity
+ * Per-assignment grade histogram, updated whenever a grade is set or cleared so that
+ * statistics never need to scan submissions
+ */
+@Entity
+@Table(name = "assignment_grade_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentGradeStats {
+
+    @Id
+    private Long assignmentId;
+
+    @Convert(converter = GradeHistogramConverter.class)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private GradeHistogram histogram = new GradeHistogram();
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public AssignmentGradeStats(Long assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+}
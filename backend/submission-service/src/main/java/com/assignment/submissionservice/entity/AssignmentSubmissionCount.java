@@ -0,0 +1,47 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Assignment Submission Count Entity
+ * Per-assignment submission totals by status, maintained in the same transaction as the
+ * submission writes so reads are a single primary-key lookup
+ */
+@Entity
+@Table(name = "assignment_submission_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentSubmissionCount {
+
+    @Id
+    private Long assignmentId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long submitted;
+
+    @Column(nullable = false)
+    private long graded;
+
+    @Column(nullable = false)
+    private long resubmitted;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public AssignmentSubmissionCount(Long assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Base64;
+import java.util.BitSet;
+
+/**
+ * Stores the set of received chunk indexes as a Base64 bitmap in a single text column
+ */
+@Converter
+public class ChunkSetConverter implements AttributeConverter<BitSet, String> {
+
+    @Override
+    public String convertToDatabaseColumn(BitSet chunks) {
+        return chunks == null ? "" : Base64.getEncoder().encodeToString(chunks.toByteArray());
+    }
+
+    @Override
+    public BitSet convertToEntityAttribute(String encoded) {
+        return encoded == null || encoded.isEmpty() ? new BitSet() : BitSet.valueOf(Base64.getDecoder().decode(encoded));
+    }
+}
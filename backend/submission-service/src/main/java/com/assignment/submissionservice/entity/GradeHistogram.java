@@ -0,0 +1,193 @@
+package com.assignment.submissionservice.entity;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Grade Histogram
+ * Exact count of submissions per integer grade. Grades are bounded (0..100), so this stays at most
+ * a hundred-odd entries per assignment while still giving exact percentiles. Histograms merge by
+ * adding counts, and a delta histogram may hold negative counts, which lets regrades and
+ * resubmissions be applied incrementally.
+ */
+public class GradeHistogram {
+
+    private final NavigableMap<Integer, Long> counts = new TreeMap<>();
+
+    public GradeHistogram add(int grade) {
+        return adjust(grade, 1);
+    }
+
+    public GradeHistogram remove(int grade) {
+        return adjust(grade, -1);
+    }
+
+    /**
+     * Record a grade change; either side may be null (ungraded)
+     */
+    public GradeHistogram change(Integer oldGrade, Integer newGrade) {
+        if (oldGrade != null) {
+            remove(oldGrade);
+        }
+        if (newGrade != null) {
+            add(newGrade);
+        }
+        return this;
+    }
+
+    public GradeHistogram adjust(int grade, long delta) {
+        counts.merge(grade, delta, Long::sum);
+        if (counts.get(grade) == 0) {
+            counts.remove(grade);
+        }
+        return this;
+    }
+
+    public GradeHistogram merge(GradeHistogram other) {
+        other.counts.forEach(this::adjust);
+        return this;
+    }
+
+    public GradeHistogram copy() {
+        return new GradeHistogram().merge(this);
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /**
+     * @return true if a merge left any grade with a negative count, which indicates drift
+     */
+    public boolean hasNegativeCounts() {
+        return counts.values().stream().anyMatch(c -> c < 0);
+    }
+
+    public Map<Integer, Long> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public long count() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Integer min() {
+        return counts.isEmpty() ? null : counts.firstKey();
+    }
+
+    public Integer max() {
+        return counts.isEmpty() ? null : counts.lastKey();
+    }
+
+    public Double mean() {
+        long n = count();
+        if (n == 0) {
+            return null;
+        }
+        double sum = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            sum += (double) entry.getKey() * entry.getValue();
+        }
+        return sum / n;
+    }
+
+    /**
+     * Population standard deviation
+     */
+    public Double stddev() {
+        Double mean = mean();
+        if (mean == null) {
+            return null;
+        }
+        double squares = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            double diff = entry.getKey() - mean;
+            squares += diff * diff * entry.getValue();
+        }
+        return Math.sqrt(squares / count());
+    }
+
+    /**
+     * Median, averaging the two middle grades when the count is even
+     */
+    public Double median() {
+        long n = count();
+        if (n == 0) {
+            return null;
+        }
+        int lower = valueAtRank((n + 1) / 2);
+        int upper = valueAtRank(n / 2 + 1);
+        return (lower + upper) / 2.0;
+    }
+
+    /**
+     * Nearest-rank percentile
+     *
+     * @param percentile Value in (0, 100]
+     * @return The smallest grade with at least that share of grades at or below it
+     */
+    public Integer percentile(double percentile) {
+        long n = count();
+        if (n == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        return valueAtRank(rank);
+    }
+
+    // 1-based rank into the sorted grades
+    private int valueAtRank(long rank) {
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return entry.getKey();
+            }
+        }
+        return counts.lastKey();
+    }
+
+    /**
+     * Serialize as "grade:count,grade:count" in ascending grade order
+     */
+    public String encode() {
+        StringBuilder encoded = new StringBuilder();
+        counts.forEach((grade, count) -> {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(grade).append(':').append(count);
+        });
+        return encoded.toString();
+    }
+
+    public static GradeHistogram decode(String encoded) {
+        GradeHistogram histogram = new GradeHistogram();
+        if (encoded == null || encoded.isBlank()) {
+            return histogram;
+        }
+        for (String pair : encoded.split(",")) {
+            int split = pair.indexOf(':');
+            histogram.adjust(Integer.parseInt(pair.substring(0, split).trim()),
+                    Long.parseLong(pair.substring(split + 1).trim()));
+        }
+        return histogram;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GradeHistogram other && counts.equals(other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return counts.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -0,0 +1,21 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link GradeHistogram} in a single text column
+ */
+@Converter
+public class GradeHistogramConverter implements AttributeConverter<GradeHistogram, String> {
+
+    @Override
+    public String convertToDatabaseColumn(GradeHistogram histogram) {
+        return histogram == null ? "" : histogram.encode();
+    }
+
+    @Override
+    public GradeHistogram convertToEntityAttribute(String encoded) {
+        return GradeHistogram.decode(encoded);
+    }
+}
@@ -0,0 +1,65 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored Object Entity
+ * One row per file in the content-addressed store, keyed by SHA-256 digest and extension, with the
+ * number of submission fileUrl and assignment attachmentUrl values that point at it
+ */
+@Entity
+@Table(name = "stored_objects")
+@Data
+@NoArgsConstructor
+public class StoredObject implements Persistable<String> {
+
+    // "<sha-256 hex>.<extension>", also the file name inside the objects directory
+    @Id
+    @Column(length = 80)
+    private String objectKey;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private long referenceCount;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Assigned ids would make save() merge with a select first; new rows are persisted directly
+    @Transient
+    private boolean isNew = true;
+
+    public StoredObject(String objectKey, long size) {
+        this.objectKey = objectKey;
+        this.size = size;
+    }
+
+    @Override
+    public String getId() {
+        return objectKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -16,12 +16,22 @@ import java.time.LocalDateTime;
  * Represents a student's submission for an assignment
  */
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", uniqueConstraints = {
+        @UniqueConstraint(name = Submission.UNIQUE_ASSIGNMENT_STUDENT, columnNames = {"assignmentId", "studentId"})
+}, indexes = {
+        @Index(name = "idx_submissions_assignment_keyset", columnList = "assignmentId, submittedAt, id"),
+        @Index(name = "idx_submissions_student_keyset", columnList = "studentId, submittedAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Submission {
 
+    public static final String UNIQUE_ASSIGNMENT_STUDENT = "uk_submissions_assignment_student";
+
+    // Name of the same constraint in db-init-submission-service.sql (Railway MySQL deployments)
+    public static final String LEGACY_UNIQUE_ASSIGNMENT_STUDENT = "unique_submission";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,47 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Submission File Entity
+ * One file of a multi-file submission, in upload order. The submission's own fileUrl and fileName
+ * repeat the first file, so single-file readers keep working; submissions made with one fileUrl
+ * have no rows here.
+ */
+@Entity
+@Table(name = "submission_files", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_submission_files_position", columnNames = {"submissionId", "position"})
+})
+@Data
+@NoArgsConstructor
+public class SubmissionFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long submissionId;
+
+    @Column(nullable = false)
+    private int position;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String fileUrl;
+
+    @Column(nullable = false, length = 200)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long size;
+
+    public SubmissionFile(Long submissionId, int position, String fileUrl, String fileName, long size) {
+        this.submissionId = submissionId;
+        this.position = position;
+        this.fileUrl = fileUrl;
+        this.fileName = fileName;
+        this.size = size;
+    }
+}
@@ -0,0 +1,86 @@
+package com.assignment.submissionservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Upload Session Entity
+ * A resumable chunked upload in progress: the file is preallocated in the staging directory and
+ * chunks of chunkSize bytes are written into it at their offsets in any order
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_session_updated", columnList = "updatedAt")
+})
+@Data
+@NoArgsConstructor
+public class UploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Convert(converter = ChunkSetConverter.class)
+    @Column(nullable = false, length = 1024)
+    private BitSet receivedChunks = new BitSet();
+
+    // Set while complete() hashes and moves the file, outside the row lock; chunks are refused meanwhile
+    private LocalDateTime completingAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public UploadSession(String filename, long size, int chunkSize) {
+        this.filename = filename;
+        this.size = size;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return (int) ((size + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Exact length of the chunk at the given index; only the last chunk may be shorter
+     */
+    public long chunkLength(int index) {
+        return Math.min(chunkSize, size - (long) index * chunkSize);
+    }
+
+    public boolean isCompleting() {
+        return completingAt != null;
+    }
+
+    public boolean isComplete() {
+        return receivedChunks.cardinality() == getTotalChunks();
+    }
+
+    public List<Integer> getMissingChunks() {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = receivedChunks.nextClearBit(0); i < getTotalChunks(); i = receivedChunks.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return missing;
+    }
+}
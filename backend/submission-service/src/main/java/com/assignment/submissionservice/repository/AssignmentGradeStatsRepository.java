@@ -0,0 +1,23 @@
+package com.assignment.submissionservice.repository;
+
+import com.assignment.submissionservice.entity.AssignmentGradeStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Assignment Grade Stats Repository
+ * Data access layer for per-assignment grade histograms
+ */
+@Repository
+public interface AssignmentGradeStatsRepository extends JpaRepository<AssignmentGradeStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM AssignmentGradeStats g WHERE g.assignmentId = :assignmentId")
+    Optional<AssignmentGradeStats> findForUpdate(@Param("assignmentId") Long assignmentId);
+}
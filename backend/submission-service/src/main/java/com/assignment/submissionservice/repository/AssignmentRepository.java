@@ -1,11 +1,18 @@
 package com.assignment.submissionservice.repository;
 
+import com.assignment.submissionservice.dto.AssignmentSummary;
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.dto.StudentAssignmentRow;
 import com.assignment.submissionservice.entity.Assignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Assignment Repository
@@ -27,4 +34,44 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByDueDateAfter(LocalDateTime date);
     
     List<Assignment> findByDueDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    // Summary projections for list views: every column except description and attachmentUrl
+
+    List<AssignmentSummary> findSummariesBy();
+
+    List<AssignmentSummary> findSummariesByFacultyIdOrderByDueDateAsc(Long facultyId);
+
+    List<AssignmentSummary> findSummariesByDueDateBefore(LocalDateTime date);
+
+    List<AssignmentSummary> findSummariesByDueDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    // Left join keeps assignments the student has not submitted; served by the (assignment, student) unique index
+    @Query("SELECT a.id AS assignmentId, a.title AS title, a.course AS course, a.dueDate AS dueDate, " +
+            "a.maxPoints AS maxPoints, s.id AS submissionId, s.status AS status, s.grade AS grade, " +
+            "s.submittedAt AS submittedAt " +
+            "FROM Assignment a LEFT JOIN Submission s ON s.assignmentId = a.id AND s.studentId = :studentId " +
+            "WHERE a.active = true ORDER BY a.dueDate ASC, a.id ASC")
+    List<StudentAssignmentRow> findActiveWithSubmissionForStudent(@Param("studentId") Long studentId);
+
+    @Query("SELECT a.attachmentUrl FROM Assignment a WHERE a.id = :id")
+    Optional<String> findAttachmentUrlById(@Param("id") Long id);
+
+    // Inactive assignments count too: their attachments stay downloadable
+    @Query("SELECT a.attachmentUrl FROM Assignment a WHERE a.attachmentUrl IN :paths")
+    List<String> findAttachmentUrlsIn(@Param("paths") Collection<String> paths);
+
+    // Version probes for conditional GETs
+
+    @Query("SELECT a.updatedAt FROM Assignment a WHERE a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastUpdated FROM Assignment a")
+    CollectionVersion findCollectionVersion();
+
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastUpdated FROM Assignment a " +
+            "WHERE a.facultyId = :facultyId")
+    CollectionVersion findCollectionVersionByFacultyId(@Param("facultyId") Long facultyId);
+
+    @Query("SELECT a.id FROM Assignment a")
+    List<Long> findAllIds();
 }
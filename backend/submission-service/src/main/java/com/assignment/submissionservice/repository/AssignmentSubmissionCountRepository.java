@@ -0,0 +1,40 @@
+package com.assignment.submissionservice.repository;
+
+import com.assignment.submissionservice.entity.AssignmentSubmissionCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Assignment Submission Count Repository
+ * Data access layer for per-assignment submission counters
+ */
+@Repository
+public interface AssignmentSubmissionCountRepository extends JpaRepository<AssignmentSubmissionCount, Long> {
+
+    // Relative update so concurrent writers never overwrite each other's increments
+    @Modifying
+    @Query("UPDATE AssignmentSubmissionCount c SET " +
+            "c.total = c.total + :total, " +
+            "c.submitted = c.submitted + :submitted, " +
+            "c.graded = c.graded + :graded, " +
+            "c.resubmitted = c.resubmitted + :resubmitted, " +
+            "c.rejected = c.rejected + :rejected " +
+            "WHERE c.assignmentId = :assignmentId")
+    int applyDelta(@Param("assignmentId") Long assignmentId,
+                   @Param("total") long total,
+                   @Param("submitted") long submitted,
+                   @Param("graded") long graded,
+                   @Param("resubmitted") long resubmitted,
+                   @Param("rejected") long rejected);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM AssignmentSubmissionCount c WHERE c.assignmentId = :assignmentId")
+    Optional<AssignmentSubmissionCount> findForUpdate(@Param("assignmentId") Long assignmentId);
+}
@@ -1,11 +1,18 @@
 package com.assignment.submissionservice.repository;
 
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.dto.ProjectStatusCount;
+import com.assignment.submissionservice.dto.ProjectSummary;
 import com.assignment.submissionservice.entity.Project;
 import com.assignment.submissionservice.entity.Project.ProjectStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Project Repository
@@ -27,4 +34,38 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Long countByStudentId(Long studentId);
     
     Long countByFacultyId(Long facultyId);
+
+    @Query("SELECT p.status AS status, COUNT(p) AS count FROM Project p " +
+            "WHERE p.facultyId = :facultyId GROUP BY p.status")
+    List<ProjectStatusCount> countByStatusForFaculty(@Param("facultyId") Long facultyId);
+
+    // Summary projections for list views: every column except description, milestones and deliverables
+
+    List<ProjectSummary> findSummariesBy();
+
+    List<ProjectSummary> findSummariesByFacultyId(Long facultyId);
+
+    List<ProjectSummary> findSummariesByStudentId(Long studentId);
+
+    List<ProjectSummary> findSummariesByStatus(ProjectStatus status);
+
+    // Version probes for conditional GETs
+
+    @Query("SELECT p.updatedAt FROM Project p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Project p")
+    CollectionVersion findCollectionVersion();
+
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Project p " +
+            "WHERE p.facultyId = :facultyId")
+    CollectionVersion findCollectionVersionByFacultyId(@Param("facultyId") Long facultyId);
+
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Project p " +
+            "WHERE p.studentId = :studentId")
+    CollectionVersion findCollectionVersionByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT COUNT(p) AS count, MAX(p.updatedAt) AS lastUpdated FROM Project p " +
+            "WHERE p.status = :status")
+    CollectionVersion findCollectionVersionByStatus(@Param("status") ProjectStatus status);
 }
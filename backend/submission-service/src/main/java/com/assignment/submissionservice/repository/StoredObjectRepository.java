@@ -0,0 +1,28 @@
+package com.assignment.submissionservice.repository;
+
+import com.assignment.submissionservice.entity.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stored Object Repository
+ * Data access layer for the content-addressed file store
+ */
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+    // Relative update so concurrent submissions sharing a file never overwrite each other's counts
+    @Modifying
+    @Query("UPDATE StoredObject o SET o.referenceCount = o.referenceCount + :delta, " +
+            "o.updatedAt = CURRENT_TIMESTAMP WHERE o.objectKey = :objectKey")
+    int adjustReferences(@Param("objectKey") String objectKey, @Param("delta") long delta);
+
+    @Query("SELECT o.objectKey FROM StoredObject o WHERE o.objectKey IN :objectKeys AND o.referenceCount > 0")
+    List<String> findReferencedKeysIn(@Param("objectKeys") Collection<String> objectKeys);
+}
@@ -0,0 +1,35 @@
+package com.assignment.submissionservice.repository;
+
+import com.assignment.submissionservice.dto.FileReference;
+import com.assignment.submissionservice.entity.SubmissionFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Submission File Repository
+ * Data access layer for the files of multi-file submissions
+ */
+@Repository
+public interface SubmissionFileRepository extends JpaRepository<SubmissionFile, Long> {
+
+    List<SubmissionFile> findBySubmissionIdOrderByPositionAsc(Long submissionId);
+
+    @Query("SELECT f.fileUrl AS path, f.fileName AS name FROM SubmissionFile f " +
+            "WHERE f.submissionId = :submissionId AND f.position = :position")
+    Optional<FileReference> findFile(@Param("submissionId") Long submissionId, @Param("position") int position);
+
+    @Modifying
+    @Query("DELETE FROM SubmissionFile f WHERE f.submissionId = :submissionId")
+    int deleteBySubmissionId(@Param("submissionId") Long submissionId);
+
+    // Which of a batch of stored paths are still referenced (upload garbage collection)
+    @Query("SELECT f.fileUrl FROM SubmissionFile f WHERE f.fileUrl IN :paths")
+    List<String> findFileUrlsIn(@Param("paths") Collection<String> paths);
+}
@@ -1,12 +1,32 @@
 package com.assignment.submissionservice.repository;
 
+import com.assignment.submissionservice.dto.AssignmentGradeCount;
+import com.assignment.submissionservice.dto.AssignmentStatusCount;
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.dto.FileReference;
+import com.assignment.submissionservice.dto.SubmissionFileRow;
+import com.assignment.submissionservice.dto.SubmissionSummary;
 import com.assignment.submissionservice.entity.Submission;
 import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Submission Repository
@@ -28,4 +48,145 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     Long countByAssignmentId(Long assignmentId);
     
     Long countByStudentId(Long studentId);
+
+    // Row lock for status/grade changes, so counter and histogram deltas are computed from the committed values
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Submission s WHERE s.id = :id")
+    Optional<Submission> findForUpdate(@Param("id") Long id);
+
+    // Locks in id order so two overlapping batches cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Submission s WHERE s.id IN :ids ORDER BY s.id")
+    List<Submission> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.assignmentId AS assignmentId, s.status AS status, COUNT(s) AS count " +
+            "FROM Submission s GROUP BY s.assignmentId, s.status")
+    List<AssignmentStatusCount> countGroupedByAssignmentAndStatus();
+
+    @Query("SELECT s.assignmentId AS assignmentId, s.status AS status, COUNT(s) AS count " +
+            "FROM Submission s WHERE s.assignmentId = :assignmentId GROUP BY s.assignmentId, s.status")
+    List<AssignmentStatusCount> countByStatusForAssignment(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT s.assignmentId AS assignmentId, s.status AS status, COUNT(s) AS count " +
+            "FROM Submission s WHERE s.assignmentId IN " +
+            "(SELECT a.id FROM Assignment a WHERE a.facultyId = :facultyId) " +
+            "GROUP BY s.assignmentId, s.status")
+    List<AssignmentStatusCount> countByStatusForFaculty(@Param("facultyId") Long facultyId);
+
+    @Query("SELECT s.fileUrl AS path, s.fileName AS name FROM Submission s WHERE s.id = :id")
+    Optional<FileReference> findFileById(@Param("id") Long id);
+
+    // Which of a batch of stored paths are still referenced (upload garbage collection)
+    @Query("SELECT s.fileUrl FROM Submission s WHERE s.fileUrl IN :paths")
+    List<String> findFileUrlsIn(@Param("paths") Collection<String> paths);
+
+    // Version probes for conditional GETs
+
+    @Query("SELECT s.updatedAt FROM Submission s WHERE s.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT s.updatedAt FROM Submission s WHERE s.assignmentId = :assignmentId AND s.studentId = :studentId")
+    Optional<LocalDateTime> findUpdatedAtByAssignmentIdAndStudentId(@Param("assignmentId") Long assignmentId,
+                                                                    @Param("studentId") Long studentId);
+
+    @Query("SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastUpdated FROM Submission s " +
+            "WHERE s.assignmentId = :assignmentId")
+    CollectionVersion findCollectionVersionByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastUpdated FROM Submission s " +
+            "WHERE s.studentId = :studentId")
+    CollectionVersion findCollectionVersionByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT s.assignmentId AS assignmentId, s.grade AS grade, COUNT(s) AS count " +
+            "FROM Submission s WHERE s.grade IS NOT NULL GROUP BY s.assignmentId, s.grade")
+    List<AssignmentGradeCount> countGroupedByAssignmentAndGrade();
+
+    @Query("SELECT s.assignmentId AS assignmentId, s.grade AS grade, COUNT(s) AS count " +
+            "FROM Submission s WHERE s.assignmentId = :assignmentId AND s.grade IS NOT NULL " +
+            "GROUP BY s.assignmentId, s.grade")
+    List<AssignmentGradeCount> countByGradeForAssignment(@Param("assignmentId") Long assignmentId);
+
+    // Keyset pagination ordered by (submittedAt, id); pass PageRequest.of(0, n) to bound the slice
+
+    List<Submission> findByAssignmentIdOrderBySubmittedAtAscIdAsc(Long assignmentId, Pageable pageable);
+
+    @Query("SELECT s FROM Submission s WHERE s.assignmentId = :assignmentId " +
+            "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) " +
+            "ORDER BY s.submittedAt ASC, s.id ASC")
+    List<Submission> findByAssignmentIdAfter(@Param("assignmentId") Long assignmentId,
+                                             @Param("submittedAt") LocalDateTime submittedAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    List<Submission> findByStudentIdOrderBySubmittedAtAscIdAsc(Long studentId, Pageable pageable);
+
+    @Query("SELECT s FROM Submission s WHERE s.studentId = :studentId " +
+            "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) " +
+            "ORDER BY s.submittedAt ASC, s.id ASC")
+    List<Submission> findByStudentIdAfter(@Param("studentId") Long studentId,
+                                          @Param("submittedAt") LocalDateTime submittedAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    // Summary projections for list views: every column except fileUrl, comments and feedback
+
+    String SUMMARY_SELECT = "SELECT new com.assignment.submissionservice.dto.SubmissionSummary(" +
+            "s.id, s.assignmentId, s.studentId, s.studentName, s.studentEmail, s.fileName, " +
+            "s.status, s.grade, s.gradedAt, s.submittedAt, s.updatedAt) FROM Submission s ";
+
+    List<SubmissionSummary> findSummariesByAssignmentId(Long assignmentId);
+
+    List<SubmissionSummary> findSummariesByStudentId(Long studentId);
+
+    List<SubmissionSummary> findSummariesByAssignmentIdOrderBySubmittedAtAscIdAsc(Long assignmentId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE s.assignmentId = :assignmentId " +
+            "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) " +
+            "ORDER BY s.submittedAt ASC, s.id ASC")
+    List<SubmissionSummary> findSummariesByAssignmentIdAfter(@Param("assignmentId") Long assignmentId,
+                                                             @Param("submittedAt") LocalDateTime submittedAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
+
+    List<SubmissionSummary> findSummariesByStudentIdOrderBySubmittedAtAscIdAsc(Long studentId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE s.studentId = :studentId " +
+            "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) " +
+            "ORDER BY s.submittedAt ASC, s.id ASC")
+    List<SubmissionSummary> findSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+                                                          @Param("submittedAt") LocalDateTime submittedAt,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    // Cursor-backed streams for exports; must be consumed inside a transaction and closed
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT s FROM Submission s WHERE s.assignmentId = :assignmentId ORDER BY s.id ASC")
+    Stream<Submission> streamByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT s FROM Submission s ORDER BY s.id ASC")
+    Stream<Submission> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    // One row per file: the files of a multi-file submission, or the submission's own file otherwise
+    @Query("SELECT s.id AS id, s.studentId AS studentId, s.studentName AS studentName, " +
+            "COALESCE(f.fileUrl, s.fileUrl) AS fileUrl, COALESCE(f.fileName, s.fileName) AS fileName " +
+            "FROM Submission s LEFT JOIN SubmissionFile f ON f.submissionId = s.id " +
+            "WHERE s.assignmentId = :assignmentId ORDER BY s.studentName ASC, s.id ASC, f.position ASC")
+    Stream<SubmissionFileRow> streamFilesByAssignmentId(@Param("assignmentId") Long assignmentId);
 }
@@ -0,0 +1,28 @@
+package com.assignment.submissionservice.repository;
+
+import com.assignment.submissionservice.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Upload Session Repository
+ * Data access layer for resumable chunked uploads
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM UploadSession u WHERE u.id = :id")
+    Optional<UploadSession> findForUpdate(@Param("id") String id);
+
+    @Query("SELECT u.id FROM UploadSession u WHERE u.updatedAt < :cutoff")
+    List<String> findIdsIdleSince(@Param("cutoff") LocalDateTime cutoff);
+}
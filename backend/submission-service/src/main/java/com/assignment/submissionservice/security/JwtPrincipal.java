@@ -0,0 +1,14 @@
+package com.assignment.submissionservice.security;
+
+import java.time.Instant;
+
+/**
+ * JWT Principal
+ * Immutable identity extracted from a token whose signature and expiry have been verified
+ */
+public record JwtPrincipal(String email, String role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,15 +1,31 @@
 package com.assignment.submissionservice.service;
 
+import com.assignment.submissionservice.config.CacheConfig;
 import com.assignment.submissionservice.dto.AssignmentRequest;
+import com.assignment.submissionservice.dto.AssignmentSummary;
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.dto.StoredFile;
 import com.assignment.submissionservice.entity.Assignment;
 import com.assignment.submissionservice.repository.AssignmentRepository;
 import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Assignment Service
@@ -21,8 +37,14 @@ import java.util.List;
 public class AssignmentService {
 
     private final AssignmentRepository assignmentRepository;
+    private final CacheManager cacheManager;
+    private final SubmissionCounterService submissionCounterService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final FileUploadService fileUploadService;
+    private final ContentStoreService contentStoreService;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.FACULTY_ASSIGNMENTS, key = "#request.facultyId")
     public Assignment createAssignment(AssignmentRequest request) {
         log.debug("Creating assignment: {}", request.getTitle());
 
@@ -38,6 +60,9 @@ public class AssignmentService {
         assignment.setActive(true);
 
         Assignment saved = assignmentRepository.save(assignment);
+        contentStoreService.retain(saved.getAttachmentUrl());
+        submissionCounterService.initialize(saved.getId());
+        gradeStatisticsService.initialize(saved.getId());
         log.info("Assignment created successfully: {}", saved.getId());
         return saved;
     }
@@ -46,20 +71,38 @@ public class AssignmentService {
         return assignmentRepository.findAll();
     }
 
+    public List<AssignmentSummary> getAssignmentSummaries() {
+        return assignmentRepository.findSummariesBy();
+    }
+
     public List<Assignment> getActiveAssignments() {
         return assignmentRepository.findByActiveTrue();
     }
 
+    @Cacheable(cacheNames = CacheConfig.FACULTY_ASSIGNMENTS, key = "#facultyId")
     public List<Assignment> getAssignmentsByFaculty(Long facultyId) {
-        return assignmentRepository.findByFacultyId(facultyId);
+        return List.copyOf(assignmentRepository.findByFacultyId(facultyId));
+    }
+
+    /**
+     * Read a faculty's assignments from the database and replace their cache entry
+     */
+    @CachePut(cacheNames = CacheConfig.FACULTY_ASSIGNMENTS, key = "#facultyId")
+    public List<Assignment> reloadAssignmentsByFaculty(Long facultyId) {
+        return List.copyOf(assignmentRepository.findByFacultyId(facultyId));
     }
 
+    @Cacheable(cacheNames = CacheConfig.ASSIGNMENTS, key = "#id")
     public Assignment getAssignmentById(Long id) {
         return assignmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Assignment not found with id: " + id));
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ASSIGNMENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.FACULTY_ASSIGNMENTS, key = "#result.facultyId")
+    })
     public Assignment updateAssignment(Long id, AssignmentRequest request) {
         Assignment assignment = getAssignmentById(id);
         
@@ -68,17 +111,46 @@ public class AssignmentService {
         assignment.setCourse(request.getCourse());
         assignment.setDueDate(request.getDueDate());
         assignment.setMaxPoints(request.getMaxPoints());
+        contentStoreService.replace(assignment.getAttachmentUrl(), request.getAttachmentUrl());
         assignment.setAttachmentUrl(request.getAttachmentUrl());
 
         return assignmentRepository.save(assignment);
     }
 
     @Transactional
-    public void deleteAssignment(Long id) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ASSIGNMENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.FACULTY_ASSIGNMENTS, key = "#result.facultyId")
+    })
+    public Assignment deleteAssignment(Long id) {
         Assignment assignment = getAssignmentById(id);
         assignment.setActive(false);
-        assignmentRepository.save(assignment);
+        Assignment saved = assignmentRepository.save(assignment);
         log.info("Assignment deactivated: {}", id);
+        return saved;
+    }
+
+    /**
+     * The assignment's attachment when it is stored in the upload directory
+     * Reads only the attachment column, not the cached assignment
+     */
+    public Optional<StoredFile> getAttachment(Long id) {
+        return assignmentRepository.findAttachmentUrlById(id)
+                .flatMap(path -> fileUploadService.resolveStoredFile(path, null));
+    }
+
+    // Version probes: read only updatedAt (and a count for lists), never the assignment rows
+
+    public Optional<LocalDateTime> getAssignmentVersion(Long id) {
+        return assignmentRepository.findUpdatedAtById(id);
+    }
+
+    public CollectionVersion getAssignmentsVersion() {
+        return assignmentRepository.findCollectionVersion();
+    }
+
+    public CollectionVersion getFacultyAssignmentsVersion(Long facultyId) {
+        return assignmentRepository.findCollectionVersionByFacultyId(facultyId);
     }
 
     public List<Assignment> getOverdueAssignments() {
@@ -88,4 +160,39 @@ public class AssignmentService {
     public List<Assignment> getUpcomingAssignments(LocalDateTime startDate, LocalDateTime endDate) {
         return assignmentRepository.findByDueDateBetween(startDate, endDate);
     }
+
+    public List<AssignmentSummary> getOverdueAssignmentSummaries() {
+        return assignmentRepository.findSummariesByDueDateBefore(LocalDateTime.now());
+    }
+
+    public List<AssignmentSummary> getUpcomingAssignmentSummaries(LocalDateTime startDate, LocalDateTime endDate) {
+        return assignmentRepository.findSummariesByDueDateBetween(startDate, endDate);
+    }
+
+    /**
+     * Hit and miss statistics for the assignment caches
+     *
+     * @return Statistics keyed by cache name, empty when caching is disabled
+     */
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", caffeineCache.getNativeCache().estimatedSize());
+                entry.put("hitCount", stats.hitCount());
+                entry.put("missCount", stats.missCount());
+                entry.put("hitRatio", stats.hitRate());
+                entry.put("missRatio", stats.missRate());
+                entry.put("evictionCount", stats.evictionCount());
+                statistics.put(name, entry);
+            }
+        }
+        return statistics;
+    }
 }
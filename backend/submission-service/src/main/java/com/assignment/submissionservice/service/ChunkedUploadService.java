@@ -0,0 +1,303 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.UploadSessionRequest;
+import com.assignment.submissionservice.entity.UploadSession;
+import com.assignment.submissionservice.repository.UploadSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Chunked Upload Service
+ * Resumable uploads: a session preallocates the file, chunks are streamed from the request straight
+ * into it at their offsets with a SHA-256 check each, and completion moves it into the content store.
+ * Chunk bodies are written outside any transaction, so a slow client never holds a connection;
+ * only the received-chunk bitmap update takes the session row lock. Completion likewise claims the
+ * session under the lock, then hashes and moves the file after that transaction has committed.
+ */
+@Service
+@Slf4j
+public class ChunkedUploadService {
+
+    // Keeps the received-chunk bitmap within its column
+    private static final int MAX_CHUNKS = 4096;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileUploadService fileUploadService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long maxSize;
+    private final Duration sessionTtl;
+
+    public ChunkedUploadService(UploadSessionRepository uploadSessionRepository,
+                                FileUploadService fileUploadService,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${file.upload.chunk-size:8MB}") DataSize chunkSize,
+                                @Value("${file.upload.chunked.max-size:200MB}") DataSize maxSize,
+                                @Value("${file.upload.session-ttl:PT24H}") Duration sessionTtl) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.fileUploadService = fileUploadService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.maxSize = maxSize.toBytes();
+        this.sessionTtl = sessionTtl;
+    }
+
+    /**
+     * Start an upload: validates the name and size and preallocates the staging file
+     *
+     * @param request Filename and total size
+     * @return The new session, with the chunk size the client must use
+     * @throws IOException If the staging file cannot be created
+     */
+    public UploadSession createSession(UploadSessionRequest request) throws IOException {
+        fileUploadService.validateFilename(request.getFilename());
+        long size = request.getSize();
+        if (size > maxSize) {
+            throw new IllegalArgumentException(
+                    String.format("File size exceeds maximum allowed size of %d MB", maxSize / (1024 * 1024)));
+        }
+
+        // Very large files get bigger chunks rather than an unbounded bitmap
+        int sessionChunkSize = (int) Math.max(chunkSize, (size + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        UploadSession session = uploadSessionRepository.save(
+                new UploadSession(request.getFilename(), size, sessionChunkSize));
+
+        Path partial = fileUploadService.getPartialUploadPath(session.getId());
+        try (RandomAccessFile file = new RandomAccessFile(partial.toFile(), "rw")) {
+            // Sized up front so chunks can be written at any offset, in any order
+            file.setLength(size);
+        } catch (IOException e) {
+            uploadSessionRepository.deleteById(session.getId());
+            throw e;
+        }
+        log.info("Upload session {} started: {} ({} bytes, {} chunks)",
+                session.getId(), session.getFilename(), size, session.getTotalChunks());
+        return session;
+    }
+
+    public UploadSession getSession(String id) {
+        return uploadSessionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Upload session not found with id: " + id));
+    }
+
+    /**
+     * Write one chunk at its offset
+     * Retrying a chunk simply rewrites the same bytes, so clients can resend anything not acknowledged
+     *
+     * @param id The upload session id
+     * @param offset Byte offset of the chunk; must be a multiple of the session's chunk size
+     * @param checksum Hex SHA-256 of the chunk
+     * @param body The chunk bytes, read once and never buffered whole
+     * @return The session with the chunk marked as received
+     * @throws IOException If reading the request or writing the file fails
+     */
+    public UploadSession writeChunk(String id, long offset, String checksum, InputStream body) throws IOException {
+        UploadSession session = getSession(id);
+        if (session.isCompleting()) {
+            throw completingError(id);
+        }
+        if (offset < 0 || offset >= session.getSize() || offset % session.getChunkSize() != 0) {
+            throw new IllegalArgumentException("Offset must be a multiple of " + session.getChunkSize()
+                    + " below " + session.getSize());
+        }
+        if (checksum == null || checksum.isBlank()) {
+            throw new IllegalArgumentException("Chunk checksum is required");
+        }
+        int index = (int) (offset / session.getChunkSize());
+        long expected = session.chunkLength(index);
+
+        // A resent chunk overwrites bytes already counted as received, so it stops counting until
+        // verified again; otherwise a failed retry could leave bad bytes behind a set bit
+        if (session.getReceivedChunks().get(index)) {
+            markChunk(id, index, false);
+        }
+        try {
+            writeVerified(id, offset, index, expected, checksum, body);
+        } catch (IOException | RuntimeException e) {
+            markChunk(id, index, false);
+            throw e;
+        }
+        return markChunk(id, index, true);
+    }
+
+    private void writeVerified(String id, long offset, int index, long expected, String checksum, InputStream body)
+            throws IOException {
+        MessageDigest digest = sha256();
+        long written = 0;
+        Path partial = fileUploadService.getPartialUploadPath(id);
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            int read;
+            while ((read = body.read(buffer.array())) != -1) {
+                if (written + read > expected) {
+                    throw new IllegalArgumentException("Chunk " + index + " must be " + expected + " bytes");
+                }
+                digest.update(buffer.array(), 0, read);
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+        }
+        if (written != expected) {
+            throw new IllegalArgumentException("Chunk " + index + " must be " + expected + " bytes, received " + written);
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(checksum.trim())) {
+            throw new IllegalArgumentException("Checksum mismatch for chunk " + index);
+        }
+    }
+
+    private UploadSession markChunk(String id, int index, boolean received) {
+        return transactionTemplate.execute(status -> {
+            UploadSession locked = uploadSessionRepository.findForUpdate(id)
+                    .orElseThrow(() -> new IllegalStateException("Upload session " + id + " was completed or cancelled"));
+            if (locked.isCompleting()) {
+                throw completingError(id);
+            }
+            if (locked.getReceivedChunks().get(index) == received) {
+                return locked;
+            }
+            BitSet chunks = (BitSet) locked.getReceivedChunks().clone();
+            chunks.set(index, received);
+            locked.setReceivedChunks(chunks);
+            return uploadSessionRepository.save(locked);
+        });
+    }
+
+    /**
+     * Finish an upload once every chunk has arrived and move the file into the content store
+     * The file is hashed and moved between two short transactions, never under the row lock
+     *
+     * @param id The upload session id
+     * @return The stored file's path relative to the upload directory, as used for fileUrl
+     * @throws IllegalArgumentException If the content fails inspection; the session is removed
+     * @throws IllegalStateException If chunks are missing, the session is already being completed or storing fails
+     */
+    public String complete(String id) {
+        UploadSession session = beginCompletion(id);
+        String path;
+        try {
+            path = fileUploadService.storeCompletedUpload(
+                    fileUploadService.getPartialUploadPath(id), session.getFilename());
+        } catch (IllegalArgumentException e) {
+            // Content that fails inspection cannot become valid, so the session is not kept for a retry
+            discard(id);
+            log.warn("Upload session {} rejected: {}", id, e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            abortCompletion(id);
+            throw new IllegalStateException("Failed to store upload: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            abortCompletion(id);
+            throw e;
+        }
+        // The staging file has been moved into the store, so only the row is left to remove
+        discard(id);
+        log.info("Upload session {} completed: {}", id, path);
+        return path;
+    }
+
+    private UploadSession beginCompletion(String id) {
+        return transactionTemplate.execute(status -> {
+            UploadSession session = uploadSessionRepository.findForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Upload session not found with id: " + id));
+            if (session.isCompleting()) {
+                throw completingError(id);
+            }
+            if (!session.isComplete()) {
+                throw new IllegalStateException("Upload is missing " + session.getMissingChunks().size() + " chunks");
+            }
+            session.setCompletingAt(LocalDateTime.now());
+            return uploadSessionRepository.save(session);
+        });
+    }
+
+    // Lets the client retry complete() after a failure that may not recur, such as a full disk
+    private void abortCompletion(String id) {
+        transactionTemplate.executeWithoutResult(status ->
+                uploadSessionRepository.findForUpdate(id).ifPresent(session -> {
+                    session.setCompletingAt(null);
+                    uploadSessionRepository.save(session);
+                }));
+    }
+
+    private static IllegalStateException completingError(String id) {
+        return new IllegalStateException("Upload session " + id + " is being completed");
+    }
+
+    /**
+     * Cancel an upload and delete its staging file
+     */
+    public void cancel(String id) {
+        UploadSession session = getSession(id);
+        if (session.isCompleting()) {
+            throw completingError(id);
+        }
+        discard(session.getId());
+        log.info("Upload session {} cancelled", id);
+    }
+
+    /**
+     * Remove sessions nobody has written to within the session TTL, with their staging files
+     *
+     * @return Number of sessions removed
+     */
+    @Scheduled(fixedDelayString = "${file.upload.cleanup-interval:PT1H}",
+            initialDelayString = "${file.upload.cleanup-initial-delay:PT1M}")
+    public int cleanupAbandoned() {
+        List<String> idle = uploadSessionRepository.findIdsIdleSince(LocalDateTime.now().minus(sessionTtl));
+        int removed = 0;
+        for (String id : idle) {
+            try {
+                discard(id);
+                removed++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to remove abandoned upload session {}: {}", id, e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} abandoned upload sessions", removed);
+        }
+        return removed;
+    }
+
+    // Row first, so a chunk racing the removal fails on the missing session rather than a missing file
+    private void discard(String id) {
+        transactionTemplate.executeWithoutResult(status ->
+                uploadSessionRepository.findForUpdate(id).ifPresent(uploadSessionRepository::delete));
+        try {
+            Files.deleteIfExists(fileUploadService.getPartialUploadPath(id));
+        } catch (IOException e) {
+            log.warn("Could not delete staging file for upload session {}: {}", id, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.entity.StoredObject;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content Store Service
+ * Stores uploaded bytes once under their SHA-256 digest, computed while the upload is copied to a
+ * staging file and checked by UploadContentInspector in the same read; identical uploads resolve to
+ * the same relative path and the duplicate copy is dropped.
+ * Submissions and assignments holding a path are counted on the object row, in the same transaction
+ * as the submission or assignment write.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ContentStoreService {
+
+    private static final Pattern OBJECT_PATH = Pattern.compile("^" + UploadLayout.OBJECTS_DIR + "/([0-9a-f]{64}(?:\\.[a-z0-9]+)?)$");
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final StoredObjectRepository storedObjectRepository;
+    private final UploadLayout uploadLayout;
+    private final UploadContentInspector uploadContentInspector;
+
+    /**
+     * Store a stream, hashing and inspecting it during the single copy to disk
+     *
+     * @param content The bytes to store
+     * @param extension File extension kept on the stored name, so the type survives without metadata
+     * @return The object's path relative to the upload directory
+     * @throws IOException If writing fails
+     * @throws IllegalArgumentException If the content does not match the extension or is a zip bomb
+     */
+    public String store(InputStream content, String extension) throws IOException {
+        Path staged = stagingPath("upload-" + UUID.randomUUID() + ".tmp");
+        MessageDigest digest = sha256();
+        UploadContentInspector.Inspection inspection = uploadContentInspector.start(extension);
+        long size = 0;
+        try (InputStream digesting = new DigestInputStream(content, digest);
+             OutputStream out = Files.newOutputStream(staged, StandardOpenOption.CREATE_NEW)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int read;
+            while ((read = digesting.read(buffer)) != -1) {
+                // Inspected before it is written, so a rejected upload stops at the offending buffer
+                inspection.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+            inspection.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return publish(staged, HexFormat.of().formatHex(digest.digest()), extension, size);
+    }
+
+    /**
+     * Store a file already staged on disk, such as a completed chunked upload, by moving it into place
+     * The file is hashed and inspected in one read
+     *
+     * @param staged The staged file, consumed by this call unless it is rejected
+     * @param extension File extension kept on the stored name
+     * @return The object's path relative to the upload directory
+     * @throws IOException If reading or moving fails
+     * @throws IllegalArgumentException If the content does not match the extension or is a zip bomb
+     */
+    public String storeStaged(Path staged, String extension) throws IOException {
+        MessageDigest digest = sha256();
+        UploadContentInspector.Inspection inspection = uploadContentInspector.start(extension);
+        try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                inspection.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        inspection.finish();
+        return publish(staged, HexFormat.of().formatHex(digest.digest()), extension, Files.size(staged));
+    }
+
+    /**
+     * Staging file inside the upload directory, so publishing it is a rename rather than a copy
+     *
+     * @param name File name within the staging directory
+     * @return The staging path, whose directory is created if needed
+     * @throws IOException If the staging directory cannot be created
+     */
+    public Path stagingPath(String name) throws IOException {
+        Path stagingDir = uploadLayout.root().resolve(UploadLayout.STAGING_DIR);
+        Files.createDirectories(stagingDir);
+        return stagingDir.resolve(name);
+    }
+
+    /**
+     * Object key of a content-addressed path; empty for legacy per-upload paths and external URLs
+     */
+    public Optional<String> objectKey(String relativePath) {
+        if (relativePath == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = OBJECT_PATH.matcher(relativePath);
+        return matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    /**
+     * Count a new reference to a stored object; other paths are ignored
+     */
+    @Transactional
+    public void retain(String relativePath) {
+        objectKey(relativePath).ifPresent(key -> adjust(key, 1));
+    }
+
+    /**
+     * Drop a reference to a stored object; other paths are ignored
+     */
+    @Transactional
+    public void release(String relativePath) {
+        objectKey(relativePath).ifPresent(key -> adjust(key, -1));
+    }
+
+    /**
+     * Move a reference from one path to another, as when a submission is resubmitted
+     */
+    @Transactional
+    public void replace(String previousPath, String newPath) {
+        if (!Objects.equals(previousPath, newPath)) {
+            release(previousPath);
+            retain(newPath);
+        }
+    }
+
+    private void adjust(String key, long delta) {
+        if (storedObjectRepository.adjustReferences(key, delta) == 0) {
+            log.warn("Stored object {} has no row; reference change of {} not recorded", key, delta);
+        }
+    }
+
+    private String publish(Path staged, String digest, String extension, long size) throws IOException {
+        String key = extension == null || extension.isEmpty()
+                ? digest
+                : digest + "." + extension.toLowerCase(Locale.ROOT);
+        String relativePath = UploadLayout.OBJECTS_DIR + "/" + key;
+        Path target = uploadLayout.shardedPath(relativePath);
+        Files.createDirectories(target.getParent());
+
+        // An object not yet moved out of the flat layout counts as already stored. Touching it restarts
+        // the garbage collector's grace period; if the collector took it first, the upload is stored again
+        if (touch(uploadLayout.locate(relativePath))) {
+            Files.delete(staged);
+            log.debug("Upload matches stored object {}, duplicate discarded", key);
+        } else {
+            try {
+                // Renaming over an object another upload just published is harmless: the bytes are equal
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.info("Stored object {} ({} bytes)", key, size);
+        }
+        record(key, size);
+        return relativePath;
+    }
+
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private void record(String key, long size) {
+        if (storedObjectRepository.existsById(key)) {
+            return;
+        }
+        try {
+            storedObjectRepository.saveAndFlush(new StoredObject(key, size));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload of the same bytes recorded it first
+            log.debug("Stored object {} recorded concurrently", key);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.AssignmentStatusCount;
+import com.assignment.submissionservice.dto.AssignmentSummary;
+import com.assignment.submissionservice.dto.FacultyDashboard;
+import com.assignment.submissionservice.dto.ProjectStatusCount;
+import com.assignment.submissionservice.dto.StudentAssignmentRow;
+import com.assignment.submissionservice.dto.StudentDashboard;
+import com.assignment.submissionservice.entity.Project.ProjectStatus;
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.ProjectRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard Service
+ * Builds dashboard views from a fixed number of grouped queries, independent of how many
+ * assignments or projects they cover
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    private final AssignmentRepository assignmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Assignments with submission counts plus project status totals for one faculty member
+     * Three queries: assignment summaries, submission counts grouped by assignment and status,
+     * and project counts grouped by status
+     */
+    @Transactional(readOnly = true)
+    public FacultyDashboard getFacultyDashboard(Long facultyId) {
+        List<AssignmentSummary> assignments = assignmentRepository.findSummariesByFacultyIdOrderByDueDateAsc(facultyId);
+
+        Map<Long, Map<SubmissionStatus, Long>> submissionCounts = new HashMap<>();
+        for (AssignmentStatusCount row : submissionRepository.countByStatusForFaculty(facultyId)) {
+            submissionCounts.computeIfAbsent(row.getAssignmentId(), id -> new EnumMap<>(SubmissionStatus.class))
+                    .put(row.getStatus(), row.getCount());
+        }
+
+        List<FacultyDashboard.AssignmentOverview> overviews = new ArrayList<>(assignments.size());
+        for (AssignmentSummary assignment : assignments) {
+            Map<SubmissionStatus, Long> counts = submissionCounts.getOrDefault(assignment.id(), Map.of());
+            long graded = counts.getOrDefault(SubmissionStatus.GRADED, 0L);
+            long ungraded = counts.getOrDefault(SubmissionStatus.SUBMITTED, 0L)
+                    + counts.getOrDefault(SubmissionStatus.RESUBMITTED, 0L);
+            long rejected = counts.getOrDefault(SubmissionStatus.REJECTED, 0L);
+            overviews.add(new FacultyDashboard.AssignmentOverview(assignment.id(), assignment.title(),
+                    assignment.course(), assignment.dueDate(), assignment.maxPoints(),
+                    assignment.active(), graded + ungraded + rejected, graded, ungraded, rejected));
+        }
+
+        Map<ProjectStatus, Long> projectTotals = new EnumMap<>(ProjectStatus.class);
+        for (ProjectStatus status : ProjectStatus.values()) {
+            projectTotals.put(status, 0L);
+        }
+        long totalProjects = 0;
+        for (ProjectStatusCount row : projectRepository.countByStatusForFaculty(facultyId)) {
+            projectTotals.put(row.getStatus(), row.getCount());
+            totalProjects += row.getCount();
+        }
+
+        log.debug("Faculty dashboard built for {}: {} assignments, {} projects",
+                facultyId, overviews.size(), totalProjects);
+        return new FacultyDashboard(facultyId, overviews, projectTotals, totalProjects);
+    }
+
+    /**
+     * Every active assignment with the student's submission status, grade and late flag
+     * One left-join query, so the cost does not grow with per-assignment lookups
+     */
+    @Transactional(readOnly = true)
+    public StudentDashboard getStudentDashboard(Long studentId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StudentDashboard.AssignmentProgress> items = new ArrayList<>();
+        long submitted = 0;
+        long graded = 0;
+        long late = 0;
+        for (StudentAssignmentRow row : assignmentRepository.findActiveWithSubmissionForStudent(studentId)) {
+            boolean isLate = row.getDueDate() != null && (row.getSubmittedAt() != null
+                    ? row.getSubmittedAt().isAfter(row.getDueDate())
+                    : now.isAfter(row.getDueDate()));
+            items.add(new StudentDashboard.AssignmentProgress(row.getAssignmentId(), row.getTitle(),
+                    row.getCourse(), row.getDueDate(), row.getMaxPoints(), row.getSubmissionId(),
+                    row.getStatus(), row.getGrade(), row.getSubmittedAt(), isLate));
+            if (row.getSubmissionId() != null) {
+                submitted++;
+            }
+            if (row.getStatus() == SubmissionStatus.GRADED) {
+                graded++;
+            }
+            if (isLate) {
+                late++;
+            }
+        }
+
+        log.debug("Student dashboard built for {}: {} assignments", studentId, items.size());
+        return new StudentDashboard(studentId, items, submitted, graded, items.size() - submitted, late);
+    }
+}
@@ -1,34 +1,53 @@
 package com.assignment.submissionservice.service;
 
+import com.assignment.submissionservice.dto.StoredFile;
+import com.assignment.submissionservice.dto.UploadedFile;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * File Upload Service
  * Handles file upload operations for assignments and submissions
+ * New uploads are stored by content hash under objects/; older per-upload paths still resolve
+ * Stored paths are resolved through UploadLayout, which finds files in either directory layout
+ * The parts of a multi-file request are stored on a small dedicated pool, so disk writes overlap
+ * without one request taking more than a few threads and read buffers
  */
 @Service
 @Slf4j
 public class FileUploadService {
 
-    @Value("${file.upload.dir:uploads}")
-    private String uploadDir;
-
-    @Value("${file.upload.max-size:10485760}") // 10MB default
-    private long maxFileSize;
+    private final ContentStoreService contentStoreService;
+    private final UploadLayout uploadLayout;
+    private final long maxFileSize;
+    private final int maxFilesPerRequest;
+    // Not a Spring bean: a second Executor bean would replace Boot's applicationTaskExecutor for async MVC requests
+    private final ThreadPoolExecutor uploadExecutor;
 
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
             "pdf", "doc", "docx", "txt", "zip", "rar", 
@@ -42,39 +61,164 @@ public class FileUploadService {
             "js", "vbs", "com", "scr", "dll", "sys", "bin"
     );
 
+    public FileUploadService(ContentStoreService contentStoreService,
+                             UploadLayout uploadLayout,
+                             @Value("${file.upload.max-size:10485760}") long maxFileSize, // 10MB default
+                             @Value("${file.upload.multi.max-files:20}") int maxFilesPerRequest,
+                             @Value("${file.upload.multi.io-threads:4}") int ioThreads) {
+        this.contentStoreService = contentStoreService;
+        this.uploadLayout = uploadLayout;
+        this.maxFileSize = maxFileSize;
+        this.maxFilesPerRequest = maxFilesPerRequest;
+        this.uploadExecutor = new ThreadPoolExecutor(ioThreads, ioThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("upload-io-"));
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
     /**
      * Upload a file to the server
+     * Files go to the content-addressed store, so identical uploads share one stored copy
      * 
      * @param file The file to upload
-     * @param subfolder Subfolder within upload directory (e.g., "assignments", "submissions")
      * @return The file URL/path
      * @throws IOException If file upload fails
      */
-    public String uploadFile(MultipartFile file, String subfolder) throws IOException {
+    public String uploadFile(MultipartFile file) throws IOException {
         // Validate file
         validateFile(file);
 
-        // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(uploadDir, subfolder);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        try (InputStream content = file.getInputStream()) {
+            String path = contentStoreService.store(content, getFileExtension(file.getOriginalFilename()));
+            log.info("File uploaded successfully: {}", path);
+            return path;
         }
+    }
 
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = getFileExtension(originalFilename);
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
-        String newFilename = String.format("%s_%s.%s", timestamp, uniqueId, extension);
+    /**
+     * Upload the files of one multipart request
+     * Every part is validated before any is stored. Parts are already spooled to disk by the
+     * container, and at most io-threads of them are copied into the store at once, so memory use
+     * does not grow with the number or size of parts. If one part is rejected the parts not yet
+     * started are skipped; whatever was already stored is unreferenced and left to the garbage
+     * collector.
+     *
+     * @param files The uploaded parts, in the order they are listed
+     * @return The stored files, in the same order
+     * @throws IOException If storing a file fails
+     * @throws IllegalArgumentException If a part fails validation or inspection
+     */
+    public List<UploadedFile> uploadFiles(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+        if (files.size() > maxFilesPerRequest) {
+            throw new IllegalArgumentException(
+                    String.format("At most %d files can be submitted at once", maxFilesPerRequest));
+        }
+        Set<String> names = new HashSet<>();
+        for (MultipartFile file : files) {
+            validateFile(file);
+            // Files are downloaded and bundled by name, so two parts cannot share one
+            if (!names.add(file.getOriginalFilename().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Duplicate file name: " + file.getOriginalFilename());
+            }
+        }
 
-        // Save file
-        Path filePath = uploadPath.resolve(newFilename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        CompletionService<Void> completion = new ExecutorCompletionService<>(uploadExecutor);
+        AtomicBoolean failed = new AtomicBoolean();
+        String[] paths = new String[files.size()];
+        List<Future<Void>> pending = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            pending.add(completion.submit(() -> {
+                // Parts still queued when another is rejected are skipped
+                if (!failed.get()) {
+                    paths[index] = store(files.get(index));
+                }
+                return null;
+            }));
+        }
+        // Waits for parts already being written even after a failure, so none outlives the request
+        Throwable failure = null;
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    failed.set(true);
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failed.set(true);
+            pending.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while storing uploaded files", e);
+        }
+        if (failure != null) {
+            throw unwrap(failure);
+        }
+
+        List<UploadedFile> uploaded = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            uploaded.add(new UploadedFile(paths[i], file.getOriginalFilename(), file.getSize()));
+        }
+        log.info("Stored {} uploaded files", uploaded.size());
+        return uploaded;
+    }
+
+    private String store(MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            return contentStoreService.store(content, getFileExtension(file.getOriginalFilename()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        log.info("File uploaded successfully: {}", newFilename);
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Store a fully received chunked upload
+     *
+     * @param partial The staged file, moved into the store
+     * @param originalFilename Name the file was uploaded as
+     * @return The file URL/path
+     * @throws IOException If the move fails
+     */
+    public String storeCompletedUpload(Path partial, String originalFilename) throws IOException {
+        String path = contentStoreService.storeStaged(partial, getFileExtension(originalFilename));
+        log.info("Chunked upload stored: {}", path);
+        return path;
+    }
 
-        // Return relative path or URL
-        return String.format("%s/%s", subfolder, newFilename);
+    /**
+     * Staging file for a chunked upload session
+     *
+     * @param uploadId The upload session id
+     * @return Path of the partial file, whose directory is created if needed
+     * @throws IOException If the staging directory cannot be created
+     */
+    public Path getPartialUploadPath(String uploadId) throws IOException {
+        return contentStoreService.stagingPath(uploadId + ".part");
     }
 
     /**
@@ -84,8 +228,12 @@ public class FileUploadService {
      * @return true if deleted successfully, false otherwise
      */
     public boolean deleteFile(String filePath) {
+        if (contentStoreService.objectKey(filePath).isPresent()) {
+            log.warn("Not deleting shared stored object {}; release its reference instead", filePath);
+            return false;
+        }
         try {
-            Path path = Paths.get(uploadDir, filePath);
+            Path path = uploadLayout.locate(filePath);
             if (Files.exists(path)) {
                 Files.delete(path);
                 log.info("File deleted successfully: {}", filePath);
@@ -102,12 +250,37 @@ public class FileUploadService {
 
     /**
      * Get the full file path
+     * Looks in the sharded layout first and falls back to the flat one for files not yet migrated
      * 
      * @param relativePath The relative file path
      * @return The full file path
      */
     public Path getFilePath(String relativePath) {
-        return Paths.get(uploadDir, relativePath);
+        return uploadLayout.locate(relativePath);
+    }
+
+    /**
+     * Resolve a stored file for download
+     * Only regular files inside the upload directory are returned; external URLs and paths that
+     * escape the directory resolve to empty
+     *
+     * @param relativePath The relative file path
+     * @param filename The name to download the file as, or null to use the stored name
+     * @return The stored file, if it exists
+     */
+    public Optional<StoredFile> resolveStoredFile(String relativePath, String filename) {
+        if (relativePath == null || relativePath.isBlank() || relativePath.contains("://")) {
+            return Optional.empty();
+        }
+        if (!uploadLayout.flatPath(relativePath).startsWith(uploadLayout.root())) {
+            return Optional.empty();
+        }
+        Path path = uploadLayout.locate(relativePath);
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            return Optional.empty();
+        }
+        String name = filename == null || filename.isBlank() ? path.getFileName().toString() : filename;
+        return Optional.of(new StoredFile(path, name));
     }
 
     /**
@@ -117,8 +290,7 @@ public class FileUploadService {
      * @return true if exists, false otherwise
      */
     public boolean fileExists(String filePath) {
-        Path path = Paths.get(uploadDir, filePath);
-        return Files.exists(path);
+        return Files.exists(uploadLayout.locate(filePath));
     }
 
     /**
@@ -140,8 +312,25 @@ public class FileUploadService {
                             maxFileSize / (1024 * 1024)));
         }
 
+        String extension = validateFilename(file.getOriginalFilename());
+
+        // Additional security: Check MIME type matches extension
+        String contentType = file.getContentType();
+        if (contentType != null && !isValidMimeType(extension, contentType)) {
+            log.warn("MIME type mismatch: extension={}, contentType={}", extension, contentType);
+            throw new IllegalArgumentException("File type mismatch detected");
+        }
+    }
+
+    /**
+     * Validate an uploaded file's name and extension
+     * 
+     * @param filename The original filename
+     * @return The lower-case extension
+     * @throws IllegalArgumentException If validation fails
+     */
+    public String validateFilename(String filename) {
         // Check file extension
-        String filename = file.getOriginalFilename();
         if (filename == null || filename.isEmpty()) {
             throw new IllegalArgumentException("Invalid filename");
         }
@@ -166,13 +355,7 @@ public class FileUploadService {
                     String.format("File type .%s is not allowed. Allowed types: %s", 
                             extension, String.join(", ", ALLOWED_EXTENSIONS)));
         }
-        
-        // Additional security: Check MIME type matches extension
-        String contentType = file.getContentType();
-        if (contentType != null && !isValidMimeType(extension, contentType)) {
-            log.warn("MIME type mismatch: extension={}, contentType={}", extension, contentType);
-            throw new IllegalArgumentException("File type mismatch detected");
-        }
+        return extension;
     }
 
     /**
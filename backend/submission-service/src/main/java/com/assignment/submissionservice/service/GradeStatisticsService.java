@@ -0,0 +1,191 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.AssignmentGradeCount;
+import com.assignment.submissionservice.dto.GradeStatistics;
+import com.assignment.submissionservice.entity.Assignment;
+import com.assignment.submissionservice.entity.AssignmentGradeStats;
+import com.assignment.submissionservice.entity.GradeHistogram;
+import com.assignment.submissionservice.repository.AssignmentGradeStatsRepository;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Grade Statistics Service
+ * Maintains a grade histogram per assignment alongside grade changes and derives
+ * distribution statistics from it without reading submissions
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeStatisticsService {
+
+    public static final int DEFAULT_BUCKETS = 10;
+
+    private static final int[] PERCENTILES = {10, 25, 50, 75, 90, 95, 99};
+
+    private final AssignmentGradeStatsRepository statsRepository;
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Create the empty histogram row for a new assignment
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void initialize(Long assignmentId) {
+        statsRepository.save(new AssignmentGradeStats(assignmentId));
+    }
+
+    /**
+     * Merge grade changes into the stored histograms in the caller's transaction
+     * Rows are locked in assignment order so concurrent batches cannot deadlock
+     *
+     * @param deltas Change per assignment, as built with {@link GradeHistogram#change}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Map<Long, GradeHistogram> deltas) {
+        new TreeMap<>(deltas).forEach((assignmentId, delta) -> {
+            if (delta.isEmpty()) {
+                return;
+            }
+            statsRepository.findForUpdate(assignmentId).ifPresentOrElse(stats -> {
+                // Replace rather than mutate so dirty checking sees the change
+                stats.setHistogram(stats.getHistogram().copy().merge(delta));
+                if (stats.getHistogram().hasNegativeCounts()) {
+                    log.warn("Grade histogram for assignment {} drifted below zero; reconciliation will repair it",
+                            assignmentId);
+                }
+                statsRepository.save(stats);
+            }, () -> log.debug("No grade histogram for assignment {}, deferring to reconciliation", assignmentId));
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordGradeChange(Long assignmentId, Integer oldGrade, Integer newGrade) {
+        if (oldGrade == null ? newGrade == null : oldGrade.equals(newGrade)) {
+            return;
+        }
+        apply(Map.of(assignmentId, new GradeHistogram().change(oldGrade, newGrade)));
+    }
+
+    /**
+     * Distribution statistics for an assignment
+     * Reads the single histogram row; only assignments created before grade statistics
+     * existed fall back to a grouped count until reconciliation creates their row
+     *
+     * @param assignment The assignment, used for its maxPoints
+     * @param buckets Number of histogram buckets spanning 0..maxPoints
+     */
+    public GradeStatistics getStatistics(Assignment assignment, int buckets) {
+        GradeHistogram histogram = statsRepository.findById(assignment.getId())
+                .map(AssignmentGradeStats::getHistogram)
+                .orElseGet(() -> toHistogram(submissionRepository.countByGradeForAssignment(assignment.getId())));
+
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int p : PERCENTILES) {
+            percentiles.put("p" + p, histogram.percentile(p));
+        }
+        return new GradeStatistics(assignment.getId(), assignment.getMaxPoints(), histogram.count(),
+                histogram.mean(), histogram.median(), histogram.stddev(), histogram.min(), histogram.max(),
+                percentiles, toBuckets(histogram, assignment.getMaxPoints(), buckets));
+    }
+
+    /**
+     * Split 0..maxPoints into equal-width integer ranges
+     * Grades above maxPoints are counted in the last bucket
+     */
+    static List<GradeStatistics.Bucket> toBuckets(GradeHistogram histogram, int maxPoints, int buckets) {
+        int top = Math.max(1, maxPoints);
+        int count = Math.max(1, Math.min(buckets, top));
+        List<GradeStatistics.Bucket> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int from = ceilDiv(i * top, count);
+            int to = i == count - 1 ? Math.max(top, histogram.isEmpty() ? top : histogram.max())
+                    : ceilDiv((i + 1) * top, count) - 1;
+            result.add(new GradeStatistics.Bucket(from, to, 0));
+        }
+        histogram.getCounts().forEach((grade, n) -> {
+            int index = Math.min(count - 1, Math.max(0, grade) * count / top);
+            GradeStatistics.Bucket bucket = result.get(index);
+            bucket.setCount(bucket.getCount() + n);
+        });
+        return result;
+    }
+
+    /**
+     * Rebuild histograms that drifted from the submissions table
+     * Compares every histogram against one grouped count and only locks and rewrites mismatched rows
+     *
+     * @return Number of histograms repaired
+     */
+    @Scheduled(fixedDelayString = "${submission.grade-stats.reconcile-interval:PT1H}",
+            initialDelayString = "${submission.grade-stats.reconcile-initial-delay:PT45S}")
+    public int reconcile() {
+        Map<Long, GradeHistogram> expected = new HashMap<>();
+        for (AssignmentGradeCount row : submissionRepository.countGroupedByAssignmentAndGrade()) {
+            expected.computeIfAbsent(row.getAssignmentId(), id -> new GradeHistogram())
+                    .adjust(row.getGrade(), row.getCount());
+        }
+        Map<Long, GradeHistogram> actual = statsRepository.findAll().stream()
+                .collect(Collectors.toMap(AssignmentGradeStats::getAssignmentId, AssignmentGradeStats::getHistogram));
+
+        Set<Long> assignmentIds = new TreeSet<>(assignmentRepository.findAllIds());
+        assignmentIds.addAll(expected.keySet());
+
+        int repaired = 0;
+        for (Long assignmentId : assignmentIds) {
+            GradeHistogram have = actual.get(assignmentId);
+            if (have == null || !have.equals(expected.getOrDefault(assignmentId, new GradeHistogram()))) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> repair(assignmentId));
+                    repaired++;
+                } catch (RuntimeException e) {
+                    log.warn("Failed to reconcile grade histogram for assignment {}: {}",
+                            assignmentId, e.getMessage());
+                }
+            }
+        }
+        if (repaired > 0) {
+            log.info("Reconciled {} grade histograms", repaired);
+        }
+        return repaired;
+    }
+
+    // Runs under the histogram row lock, so in-flight graders merge their deltas on top of the recount
+    private void repair(Long assignmentId) {
+        AssignmentGradeStats stats = statsRepository.findForUpdate(assignmentId)
+                .orElseGet(() -> new AssignmentGradeStats(assignmentId));
+        stats.setHistogram(toHistogram(submissionRepository.countByGradeForAssignment(assignmentId)));
+        statsRepository.save(stats);
+        log.debug("Grade histogram repaired for assignment {}: {}", assignmentId, stats.getHistogram());
+    }
+
+    private static GradeHistogram toHistogram(List<AssignmentGradeCount> rows) {
+        GradeHistogram histogram = new GradeHistogram();
+        for (AssignmentGradeCount row : rows) {
+            histogram.adjust(row.getGrade(), row.getCount());
+        }
+        return histogram;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return Math.floorDiv(a + b - 1, b);
+    }
+}
@@ -1,6 +1,8 @@
 package com.assignment.submissionservice.service;
 
+import com.assignment.submissionservice.dto.CollectionVersion;
 import com.assignment.submissionservice.dto.ProjectRequest;
+import com.assignment.submissionservice.dto.ProjectSummary;
 import com.assignment.submissionservice.entity.Project;
 import com.assignment.submissionservice.entity.Project.ProjectStatus;
 import com.assignment.submissionservice.repository.ProjectRepository;
@@ -9,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Project Service
@@ -91,6 +95,44 @@ public class ProjectService {
         return projectRepository.findByStatus(status);
     }
 
+    public List<ProjectSummary> getProjectSummaries() {
+        return projectRepository.findSummariesBy();
+    }
+
+    public List<ProjectSummary> getProjectSummariesByFaculty(Long facultyId) {
+        return projectRepository.findSummariesByFacultyId(facultyId);
+    }
+
+    public List<ProjectSummary> getProjectSummariesByStudent(Long studentId) {
+        return projectRepository.findSummariesByStudentId(studentId);
+    }
+
+    public List<ProjectSummary> getProjectSummariesByStatus(ProjectStatus status) {
+        return projectRepository.findSummariesByStatus(status);
+    }
+
+    // Version probes: read only updatedAt (and a count for lists), never the project rows
+
+    public Optional<LocalDateTime> getProjectVersion(Long id) {
+        return projectRepository.findUpdatedAtById(id);
+    }
+
+    public CollectionVersion getProjectsVersion() {
+        return projectRepository.findCollectionVersion();
+    }
+
+    public CollectionVersion getFacultyProjectsVersion(Long facultyId) {
+        return projectRepository.findCollectionVersionByFacultyId(facultyId);
+    }
+
+    public CollectionVersion getStudentProjectsVersion(Long studentId) {
+        return projectRepository.findCollectionVersionByStudentId(studentId);
+    }
+
+    public CollectionVersion getProjectsByStatusVersion(ProjectStatus status) {
+        return projectRepository.findCollectionVersionByStatus(status);
+    }
+
     @Transactional
     public void deleteProject(Long id) {
         projectRepository.deleteById(id);
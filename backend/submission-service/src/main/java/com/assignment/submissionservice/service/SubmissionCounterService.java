@@ -0,0 +1,186 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.AssignmentStatusCount;
+import com.assignment.submissionservice.entity.AssignmentSubmissionCount;
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.AssignmentSubmissionCountRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Submission Counter Service
+ * Maintains per-assignment submission totals by status alongside submission writes,
+ * and periodically reconciles them against the submissions table
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionCounterService {
+
+    private final AssignmentSubmissionCountRepository countRepository;
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Accumulated change to one assignment's counters
+     */
+    public static class Delta {
+
+        private final Map<SubmissionStatus, Long> byStatus = new EnumMap<>(SubmissionStatus.class);
+        private long total;
+
+        /**
+         * Record a status transition
+         *
+         * @param from Previous status, or null for a new submission
+         * @param to New status
+         */
+        public Delta transition(SubmissionStatus from, SubmissionStatus to) {
+            if (from == to) {
+                return this;
+            }
+            if (from == null) {
+                total++;
+            } else {
+                byStatus.merge(from, -1L, Long::sum);
+            }
+            byStatus.merge(to, 1L, Long::sum);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return total == 0 && byStatus.values().stream().allMatch(v -> v == 0);
+        }
+
+        long get(SubmissionStatus status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+    }
+
+    /**
+     * Create the zero counter row for a new assignment
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void initialize(Long assignmentId) {
+        countRepository.save(new AssignmentSubmissionCount(assignmentId));
+    }
+
+    /**
+     * Apply a change in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long assignmentId, Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int updated = countRepository.applyDelta(assignmentId, delta.total,
+                delta.get(SubmissionStatus.SUBMITTED), delta.get(SubmissionStatus.GRADED),
+                delta.get(SubmissionStatus.RESUBMITTED), delta.get(SubmissionStatus.REJECTED));
+        if (updated == 0) {
+            // Assignment predates the counters table; reconciliation creates the row
+            log.debug("No submission counter for assignment {}, deferring to reconciliation", assignmentId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Long assignmentId, SubmissionStatus from, SubmissionStatus to) {
+        apply(assignmentId, new Delta().transition(from, to));
+    }
+
+    public Optional<AssignmentSubmissionCount> getCounts(Long assignmentId) {
+        return countRepository.findById(assignmentId);
+    }
+
+    /**
+     * Repair counters that drifted from the submissions table
+     * Compares all counters against one grouped count and only locks and rewrites mismatched rows
+     *
+     * @return Number of counters repaired
+     */
+    @Scheduled(fixedDelayString = "${submission.counters.reconcile-interval:PT15M}",
+            initialDelayString = "${submission.counters.reconcile-initial-delay:PT30S}")
+    public int reconcile() {
+        Map<Long, AssignmentSubmissionCount> expected = new HashMap<>();
+        for (AssignmentStatusCount row : submissionRepository.countGroupedByAssignmentAndStatus()) {
+            AssignmentSubmissionCount counts = expected.computeIfAbsent(row.getAssignmentId(),
+                    AssignmentSubmissionCount::new);
+            setStatusCount(counts, row.getStatus(), row.getCount());
+        }
+        Map<Long, AssignmentSubmissionCount> actual = countRepository.findAll().stream()
+                .collect(Collectors.toMap(AssignmentSubmissionCount::getAssignmentId, Function.identity()));
+
+        Set<Long> assignmentIds = new TreeSet<>(assignmentRepository.findAllIds());
+        assignmentIds.addAll(expected.keySet());
+
+        int repaired = 0;
+        for (Long assignmentId : assignmentIds) {
+            AssignmentSubmissionCount want = expected.getOrDefault(assignmentId,
+                    new AssignmentSubmissionCount(assignmentId));
+            AssignmentSubmissionCount have = actual.get(assignmentId);
+            if (have == null || !sameCounts(want, have)) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> repair(assignmentId));
+                    repaired++;
+                } catch (RuntimeException e) {
+                    log.warn("Failed to reconcile submission counter for assignment {}: {}",
+                            assignmentId, e.getMessage());
+                }
+            }
+        }
+        if (repaired > 0) {
+            log.info("Reconciled {} submission counters", repaired);
+        }
+        return repaired;
+    }
+
+    // Runs under the counter row lock, so in-flight writers apply their deltas on top of the recount
+    private void repair(Long assignmentId) {
+        AssignmentSubmissionCount counts = countRepository.findForUpdate(assignmentId)
+                .orElseGet(() -> new AssignmentSubmissionCount(assignmentId));
+        for (SubmissionStatus status : SubmissionStatus.values()) {
+            setStatusCount(counts, status, 0);
+        }
+        List<AssignmentStatusCount> rows = submissionRepository.countByStatusForAssignment(assignmentId);
+        for (AssignmentStatusCount row : rows) {
+            setStatusCount(counts, row.getStatus(), row.getCount());
+        }
+        countRepository.save(counts);
+        log.debug("Submission counter repaired for assignment {}: total {}", assignmentId, counts.getTotal());
+    }
+
+    private static void setStatusCount(AssignmentSubmissionCount counts, SubmissionStatus status, long value) {
+        switch (status) {
+            case SUBMITTED -> counts.setSubmitted(value);
+            case GRADED -> counts.setGraded(value);
+            case RESUBMITTED -> counts.setResubmitted(value);
+            case REJECTED -> counts.setRejected(value);
+        }
+        counts.setTotal(counts.getSubmitted() + counts.getGraded() + counts.getResubmitted() + counts.getRejected());
+    }
+
+    private static boolean sameCounts(AssignmentSubmissionCount a, AssignmentSubmissionCount b) {
+        return a.getTotal() == b.getTotal()
+                && a.getSubmitted() == b.getSubmitted()
+                && a.getGraded() == b.getGraded()
+                && a.getResubmitted() == b.getResubmitted()
+                && a.getRejected() == b.getRejected();
+    }
+}
@@ -0,0 +1,279 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.StoredFile;
+import com.assignment.submissionservice.dto.SubmissionFileRow;
+import com.assignment.submissionservice.entity.Submission;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Submission Export Service
+ * Streams submissions to an output stream as NDJSON or CSV straight from a database cursor,
+ * and an assignment's submitted files as a ZIP archive built while it is sent
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    // Rows written between output flushes and persistence context clears
+    private static final int BATCH_SIZE = SubmissionRepository.EXPORT_FETCH_SIZE;
+
+    private static final String[] CSV_HEADER = {
+            "id", "assignmentId", "studentId", "studentName", "studentEmail", "fileName", "fileUrl",
+            "status", "grade", "feedback", "comments", "submittedAt", "gradedAt"
+    };
+
+    // Formats that are compressed already; deflating them again costs CPU and saves nothing
+    private static final Set<String> STORED_EXTENSIONS = Set.of(
+            "zip", "rar", "docx", "pptx", "jpg", "jpeg", "png", "pdf");
+
+    private final SubmissionRepository submissionRepository;
+    private final FileUploadService fileUploadService;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_NDJSON.equalsIgnoreCase(format) || FORMAT_CSV.equalsIgnoreCase(format);
+    }
+
+    /**
+     * Write submissions to the given stream without materializing the result set
+     *
+     * @param assignmentId Assignment to export, or null for every submission
+     * @param format "ndjson" or "csv"
+     * @param out The response stream
+     * @return Number of rows written
+     * @throws IOException If writing to the client fails
+     */
+    @Transactional(readOnly = true)
+    public long exportSubmissions(Long assignmentId, String format, OutputStream out) throws IOException {
+        if (!isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        try (Stream<Submission> rows = assignmentId == null
+                ? submissionRepository.streamAll()
+                : submissionRepository.streamByAssignmentId(assignmentId)) {
+            long written = FORMAT_CSV.equalsIgnoreCase(format)
+                    ? writeCsv(rows.iterator(), out)
+                    : writeNdjson(rows.iterator(), out);
+            log.info("Exported {} submissions as {} (assignment: {})", written, format, assignmentId);
+            return written;
+        }
+    }
+
+    /**
+     * Write every submitted file of an assignment to the given stream as a ZIP archive
+     * Rows come from a database cursor and each file is copied straight from the upload store into
+     * its entry, so memory use is the same for ten submissions or ten thousand. Entries are named
+     * "Student Name (studentId)/original-file-name", one per file of a multi-file submission; a file
+     * that is gone gets a MISSING.txt entry instead. Names that clash once sanitized get a " (2)" suffix,
+     * as does the folder of a student's second submission.
+     *
+     * @param assignmentId Assignment whose submissions are bundled
+     * @param out The response stream
+     * @return Number of files written
+     * @throws IOException If reading a file or writing to the client fails
+     */
+    @Transactional(readOnly = true)
+    public long writeSubmissionBundle(Long assignmentId, OutputStream out) throws IOException {
+        long written = 0;
+        long missing = 0;
+        Long submissionId = null;
+        String folder = null;
+        // A duplicate entry name would fail the archive after the response has started. Rows come
+        // ordered by student name and id, so a student's submissions are adjacent and only the
+        // previous folder can clash; files are deduplicated within their own submission
+        String previousFolder = null;
+        int folderCount = 0;
+        Set<String> namesInFolder = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        try (Stream<SubmissionFileRow> rows = submissionRepository.streamFilesByAssignmentId(assignmentId)) {
+            Iterator<SubmissionFileRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SubmissionFileRow row = iterator.next();
+                if (!row.getId().equals(submissionId)) {
+                    submissionId = row.getId();
+                    String base = entryName(row.getStudentName(), "student") + " (" + row.getStudentId() + ")";
+                    if (base.equalsIgnoreCase(previousFolder)) {
+                        folder = base + " (" + ++folderCount + ")/";
+                    } else {
+                        previousFolder = base;
+                        folderCount = 1;
+                        folder = base + "/";
+                    }
+                    namesInFolder.clear();
+                }
+                Optional<StoredFile> file = fileUploadService.resolveStoredFile(row.getFileUrl(), row.getFileName());
+                if (file.isEmpty()) {
+                    zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(new ZipEntry(folder + uniqueName(namesInFolder, "MISSING.txt", true)));
+                    zip.write(("The file " + row.getFileName() + " of submission " + row.getId()
+                            + " (" + row.getFileUrl() + ") is not in the upload store.\r\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    zip.closeEntry();
+                    missing++;
+                    continue;
+                }
+                String name = uniqueName(namesInFolder, entryName(file.get().filename(), "submission"), true);
+                zip.setLevel(STORED_EXTENSIONS.contains(extension(name))
+                        ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                ZipEntry entry = new ZipEntry(folder + name);
+                entry.setLastModifiedTime(Files.getLastModifiedTime(file.get().path()));
+                zip.putNextEntry(entry);
+                Files.copy(file.get().path(), zip);
+                zip.closeEntry();
+                written++;
+            }
+        }
+        // Ends the archive without closing the response stream, which belongs to the container
+        zip.finish();
+        out.flush();
+        log.info("Bundled {} submission files for assignment {} ({} missing)", written, assignmentId, missing);
+        return written;
+    }
+
+    /**
+     * A single path segment for an archive entry: separators and characters Windows rejects are
+     * replaced, so extracting the archive cannot write outside its folder
+     */
+    static String entryName(String value, String fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        StringBuilder name = new StringBuilder(value.length());
+        for (char c : value.trim().toCharArray()) {
+            name.append(c < 0x20 || "/\\:*?\"<>|".indexOf(c) >= 0 ? '_' : c);
+        }
+        String result = name.toString();
+        return result.equals(".") || result.equals("..") ? fallback : result;
+    }
+
+    /**
+     * The name itself, or the first free "name (2)", "name (3)"... with the suffix placed before
+     * the extension when asked; names are compared ignoring case, as Windows and macOS extract them
+     */
+    static String uniqueName(Set<String> used, String name, boolean keepExtension) {
+        if (used.add(name.toLowerCase(Locale.ROOT))) {
+            return name;
+        }
+        int dot = keepExtension ? name.lastIndexOf('.') : -1;
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String suffix = dot > 0 ? name.substring(dot) : "";
+        for (int n = 2; ; n++) {
+            String candidate = base + " (" + n + ")" + suffix;
+            if (used.add(candidate.toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private long writeNdjson(Iterator<Submission> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writerFor(Submission.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count == 1 || count % BATCH_SIZE == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Submission> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_HEADER));
+        writer.write("\r\n");
+        writer.flush();
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Submission s = rows.next();
+            writeCsvRow(writer,
+                    s.getId(), s.getAssignmentId(), s.getStudentId(), s.getStudentName(), s.getStudentEmail(),
+                    s.getFileName(), s.getFileUrl(), s.getStatus(), s.getGrade(), s.getFeedback(),
+                    s.getComments(), s.getSubmittedAt(), s.getGradedAt());
+            if (++count % BATCH_SIZE == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote a CSV field when needed (RFC 4180)
+     * Leading formula characters, tab and carriage return included, are prefixed so spreadsheets
+     * do not evaluate them
+     */
+    private String escapeCsv(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -1,17 +1,43 @@
 package com.assignment.submissionservice.service;
 
+import com.assignment.submissionservice.client.UserServiceClient;
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.dto.CursorPage;
 import com.assignment.submissionservice.dto.GradeRequest;
+import com.assignment.submissionservice.dto.GradeResult;
+import com.assignment.submissionservice.dto.StoredFile;
+import com.assignment.submissionservice.dto.SubmissionCursor;
 import com.assignment.submissionservice.dto.SubmissionRequest;
+import com.assignment.submissionservice.dto.SubmissionSummary;
+import com.assignment.submissionservice.dto.UploadedFile;
+import com.assignment.submissionservice.dto.UserSummary;
+import com.assignment.submissionservice.entity.AssignmentSubmissionCount;
+import com.assignment.submissionservice.entity.GradeHistogram;
 import com.assignment.submissionservice.entity.Submission;
 import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import com.assignment.submissionservice.entity.SubmissionFile;
+import com.assignment.submissionservice.repository.SubmissionFileRepository;
 import com.assignment.submissionservice.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Submission Service
@@ -22,17 +48,47 @@ import java.util.List;
 @Slf4j
 public class SubmissionService {
 
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
     private final SubmissionRepository submissionRepository;
+    private final SubmissionFileRepository submissionFileRepository;
+    private final SubmissionCounterService submissionCounterService;
+    private final GradeStatisticsService gradeStatisticsService;
+    private final UserServiceClient userServiceClient;
+    private final FileUploadService fileUploadService;
+    private final ContentStoreService contentStoreService;
+
+    @Value("${submission.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${submission.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${submission.grade.batch.max-size:500}")
+    private int maxGradeBatchSize;
 
     @Transactional
     public Submission submitAssignment(SubmissionRequest request) {
-        log.debug("Submitting assignment {} by student: {}", request.getAssignmentId(), request.getStudentId());
+        Submission saved = insertSubmission(request);
+        contentStoreService.retain(saved.getFileUrl());
+        return saved;
+    }
+
+    /**
+     * Submit an assignment made of several files, already stored by FileUploadService.uploadFiles
+     * The submission's fileUrl and fileName are those of the first file; the references are held by
+     * the submission's file rows, so the first file is counted once
+     */
+    @Transactional
+    public Submission submitAssignment(SubmissionRequest request, List<UploadedFile> files) {
+        setPrimaryFile(request, files);
+        Submission saved = insertSubmission(request);
+        saveFiles(saved.getId(), files);
+        return saved;
+    }
 
-        // Check if already submitted
-        submissionRepository.findByAssignmentIdAndStudentId(request.getAssignmentId(), request.getStudentId())
-                .ifPresent(existing -> {
-                    throw new IllegalStateException("Assignment already submitted. Use resubmit instead.");
-                });
+    private Submission insertSubmission(SubmissionRequest request) {
+        log.debug("Submitting assignment {} by student: {}", request.getAssignmentId(), request.getStudentId());
 
         Submission submission = new Submission();
         submission.setAssignmentId(request.getAssignmentId());
@@ -44,15 +100,50 @@ public class SubmissionService {
         submission.setComments(request.getComments());
         submission.setStatus(SubmissionStatus.SUBMITTED);
 
-        Submission saved = submissionRepository.save(submission);
+        // No pre-check: the unique (assignment, student) constraint rejects duplicates atomically,
+        // so concurrent retries cannot both insert and the common path costs a single INSERT
+        Submission saved;
+        try {
+            saved = submissionRepository.saveAndFlush(submission);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateSubmission(e)) {
+                throw new IllegalStateException("Assignment already submitted. Use resubmit instead.");
+            }
+            throw e;
+        }
+        submissionCounterService.recordTransition(saved.getAssignmentId(), null, SubmissionStatus.SUBMITTED);
         log.info("Submission created successfully: {}", saved.getId());
         return saved;
     }
 
     @Transactional
     public Submission resubmitAssignment(Long submissionId, SubmissionRequest request) {
-        Submission submission = getSubmissionById(submissionId);
-        
+        // A single fileUrl replaces the whole set of a multi-file submission
+        Submission submission = replaceSubmission(submissionId, request);
+        contentStoreService.retain(submission.getFileUrl());
+        return submission;
+    }
+
+    /**
+     * Resubmit with a new set of files, already stored by FileUploadService.uploadFiles
+     */
+    @Transactional
+    public Submission resubmitAssignment(Long submissionId, SubmissionRequest request, List<UploadedFile> files) {
+        setPrimaryFile(request, files);
+        Submission submission = replaceSubmission(submissionId, request);
+        saveFiles(submissionId, files);
+        return submission;
+    }
+
+    // Releases the previous files; the caller retains the new ones
+    private Submission replaceSubmission(Long submissionId, SubmissionRequest request) {
+        Submission submission = getSubmissionForUpdate(submissionId);
+        SubmissionStatus previousStatus = submission.getStatus();
+        Integer previousGrade = submission.getGrade();
+        if (!releaseFiles(submissionId)) {
+            contentStoreService.release(submission.getFileUrl());
+        }
+
         submission.setFileUrl(request.getFileUrl());
         submission.setFileName(request.getFileName());
         submission.setComments(request.getComments());
@@ -61,27 +152,139 @@ public class SubmissionService {
         submission.setFeedback(null);
         submission.setGradedAt(null);
 
+        submissionCounterService.recordTransition(
+                submission.getAssignmentId(), previousStatus, SubmissionStatus.RESUBMITTED);
+        gradeStatisticsService.recordGradeChange(submission.getAssignmentId(), previousGrade, null);
         return submissionRepository.save(submission);
     }
 
+    private static void setPrimaryFile(SubmissionRequest request, List<UploadedFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+        request.setFileUrl(files.get(0).fileUrl());
+        request.setFileName(files.get(0).fileName());
+    }
+
+    private void saveFiles(Long submissionId, List<UploadedFile> files) {
+        List<SubmissionFile> entries = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            UploadedFile file = files.get(i);
+            entries.add(new SubmissionFile(submissionId, i, file.fileUrl(), file.fileName(), file.size()));
+            contentStoreService.retain(file.fileUrl());
+        }
+        submissionFileRepository.saveAll(entries);
+    }
+
+    // Returns false for a single-file submission, whose reference is held by its fileUrl instead
+    private boolean releaseFiles(Long submissionId) {
+        List<SubmissionFile> entries = submissionFileRepository.findBySubmissionIdOrderByPositionAsc(submissionId);
+        if (entries.isEmpty()) {
+            return false;
+        }
+        entries.forEach(entry -> contentStoreService.release(entry.getFileUrl()));
+        submissionFileRepository.deleteBySubmissionId(submissionId);
+        return true;
+    }
+
     @Transactional
     public Submission gradeSubmission(Long submissionId, GradeRequest request) {
-        Submission submission = getSubmissionById(submissionId);
-        
-        submission.setGrade(request.getGrade());
-        submission.setFeedback(request.getFeedback());
-        submission.setStatus(SubmissionStatus.GRADED);
-        submission.setGradedAt(LocalDateTime.now());
+        Submission submission = getSubmissionForUpdate(submissionId);
+        submissionCounterService.recordTransition(
+                submission.getAssignmentId(), submission.getStatus(), SubmissionStatus.GRADED);
+        gradeStatisticsService.recordGradeChange(
+                submission.getAssignmentId(), submission.getGrade(), request.getGrade());
+        applyGrade(submission, request, LocalDateTime.now());
 
         log.info("Submission graded: {} with grade: {}", submissionId, request.getGrade());
         return submissionRepository.save(submission);
     }
 
+    /**
+     * Grade many submissions in a single transaction
+     * Loads and locks all targets with one IN query and lets Hibernate flush the updates as JDBC batches
+     *
+     * @param grades Grades keyed by submission ID
+     * @return One result per requested submission, in request order
+     */
+    @Transactional
+    public List<GradeResult> gradeSubmissions(Map<Long, GradeRequest> grades) {
+        if (grades.size() > maxGradeBatchSize) {
+            throw new IllegalArgumentException(
+                    String.format("Batch exceeds maximum of %d submissions", maxGradeBatchSize));
+        }
+
+        Map<Long, Submission> found = submissionRepository.findAllForUpdate(grades.keySet()).stream()
+                .collect(Collectors.toMap(Submission::getId, Function.identity()));
+        LocalDateTime gradedAt = LocalDateTime.now();
+
+        List<GradeResult> results = new ArrayList<>(grades.size());
+        Map<Long, SubmissionCounterService.Delta> counterDeltas = new TreeMap<>();
+        Map<Long, GradeHistogram> gradeDeltas = new HashMap<>();
+        for (Map.Entry<Long, GradeRequest> entry : grades.entrySet()) {
+            Submission submission = found.get(entry.getKey());
+            if (submission == null) {
+                results.add(new GradeResult(entry.getKey(), false, null,
+                        "Submission not found with id: " + entry.getKey()));
+                continue;
+            }
+            counterDeltas.computeIfAbsent(submission.getAssignmentId(), id -> new SubmissionCounterService.Delta())
+                    .transition(submission.getStatus(), SubmissionStatus.GRADED);
+            gradeDeltas.computeIfAbsent(submission.getAssignmentId(), id -> new GradeHistogram())
+                    .change(submission.getGrade(), entry.getValue().getGrade());
+            applyGrade(submission, entry.getValue(), gradedAt);
+            results.add(new GradeResult(entry.getKey(), true, entry.getValue().getGrade(), "Graded"));
+        }
+        counterDeltas.forEach(submissionCounterService::apply);
+        gradeStatisticsService.apply(gradeDeltas);
+
+        log.info("Batch graded {} of {} submissions", found.size(), grades.size());
+        return results;
+    }
+
     public Submission getSubmissionById(Long id) {
         return submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Submission not found with id: " + id));
     }
 
+    private Submission getSubmissionForUpdate(Long id) {
+        return submissionRepository.findForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Submission not found with id: " + id));
+    }
+
+    /**
+     * The submitted file when it is stored in the upload directory, named as the student uploaded it
+     */
+    public Optional<StoredFile> getSubmissionFile(Long id) {
+        return submissionRepository.findFileById(id)
+                .flatMap(file -> fileUploadService.resolveStoredFile(file.getPath(), file.getName()));
+    }
+
+    /**
+     * The files of a submission in upload order; a single-file submission lists its one file
+     */
+    public List<SubmissionFile> getSubmissionFiles(Long id) {
+        List<SubmissionFile> files = submissionFileRepository.findBySubmissionIdOrderByPositionAsc(id);
+        if (!files.isEmpty()) {
+            return files;
+        }
+        Submission submission = getSubmissionById(id);
+        SubmissionFile file = new SubmissionFile(id, 0, submission.getFileUrl(), submission.getFileName(), -1);
+        fileUploadService.resolveStoredFile(submission.getFileUrl(), submission.getFileName())
+                .ifPresent(stored -> file.setSize(stored.path().toFile().length()));
+        return List.of(file);
+    }
+
+    /**
+     * One file of a submission by its position, for previewing files individually
+     * Position 0 of a single-file submission is its one file
+     */
+    public Optional<StoredFile> getSubmissionFile(Long id, int position) {
+        return submissionFileRepository.findFile(id, position)
+                .or(() -> position == 0 ? submissionRepository.findFileById(id) : Optional.empty())
+                .flatMap(file -> fileUploadService.resolveStoredFile(file.getPath(), file.getName()));
+    }
+
     public List<Submission> getAllSubmissions() {
         return submissionRepository.findAll();
     }
@@ -94,12 +297,214 @@ public class SubmissionService {
         return submissionRepository.findByStudentId(studentId);
     }
 
+    public List<SubmissionSummary> getSubmissionSummariesByAssignment(Long assignmentId) {
+        return withCurrentStudentNames(submissionRepository.findSummariesByAssignmentId(assignmentId));
+    }
+
+    public List<SubmissionSummary> getSubmissionSummariesByStudent(Long studentId) {
+        return submissionRepository.findSummariesByStudentId(studentId);
+    }
+
+    /**
+     * Get one page of an assignment's submissions ordered by (submittedAt, id)
+     *
+     * @param assignmentId The assignment ID
+     * @param cursor Token from the previous page, or null for the first page
+     * @param limit Requested page size, capped at the configured maximum
+     * @return The page with the cursor for the next one
+     */
+    public CursorPage<Submission> getSubmissionsByAssignmentPage(Long assignmentId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        SubmissionCursor after = SubmissionCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Submission> rows = after == null
+                ? submissionRepository.findByAssignmentIdOrderBySubmittedAtAscIdAsc(assignmentId, window)
+                : submissionRepository.findByAssignmentIdAfter(
+                        assignmentId, after.getSubmittedAt(), after.getId(), window);
+        return toPage(rows, pageSize, s -> new SubmissionCursor(s.getSubmittedAt(), s.getId()));
+    }
+
+    /**
+     * Summary variant of {@link #getSubmissionsByAssignmentPage}, selecting only list columns
+     */
+    public CursorPage<SubmissionSummary> getSubmissionSummariesByAssignmentPage(Long assignmentId, String cursor,
+                                                                               Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        SubmissionCursor after = SubmissionCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<SubmissionSummary> rows = after == null
+                ? submissionRepository.findSummariesByAssignmentIdOrderBySubmittedAtAscIdAsc(assignmentId, window)
+                : submissionRepository.findSummariesByAssignmentIdAfter(
+                        assignmentId, after.getSubmittedAt(), after.getId(), window);
+        CursorPage<SubmissionSummary> page = toPage(rows, pageSize, s -> new SubmissionCursor(s.submittedAt(), s.id()));
+        return new CursorPage<>(withCurrentStudentNames(page.getItems()), page.getNextCursor(), page.isHasMore());
+    }
+
+    /**
+     * Get one page of a student's submissions ordered by (submittedAt, id)
+     *
+     * @param studentId The student ID
+     * @param cursor Token from the previous page, or null for the first page
+     * @param limit Requested page size, capped at the configured maximum
+     * @return The page with the cursor for the next one
+     */
+    public CursorPage<Submission> getSubmissionsByStudentPage(Long studentId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        SubmissionCursor after = SubmissionCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Submission> rows = after == null
+                ? submissionRepository.findByStudentIdOrderBySubmittedAtAscIdAsc(studentId, window)
+                : submissionRepository.findByStudentIdAfter(
+                        studentId, after.getSubmittedAt(), after.getId(), window);
+        return toPage(rows, pageSize, s -> new SubmissionCursor(s.getSubmittedAt(), s.getId()));
+    }
+
+    /**
+     * Summary variant of {@link #getSubmissionsByStudentPage}, selecting only list columns
+     */
+    public CursorPage<SubmissionSummary> getSubmissionSummariesByStudentPage(Long studentId, String cursor,
+                                                                            Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        SubmissionCursor after = SubmissionCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<SubmissionSummary> rows = after == null
+                ? submissionRepository.findSummariesByStudentIdOrderBySubmittedAtAscIdAsc(studentId, window)
+                : submissionRepository.findSummariesByStudentIdAfter(
+                        studentId, after.getSubmittedAt(), after.getId(), window);
+        return toPage(rows, pageSize, s -> new SubmissionCursor(s.submittedAt(), s.id()));
+    }
+
     public Submission getStudentSubmission(Long assignmentId, Long studentId) {
         return submissionRepository.findByAssignmentIdAndStudentId(assignmentId, studentId)
                 .orElse(null);
     }
 
+    // Version probes: read only updatedAt (and a count for lists), never the submission rows
+
+    public Optional<LocalDateTime> getSubmissionVersion(Long id) {
+        return submissionRepository.findUpdatedAtById(id);
+    }
+
+    public Optional<LocalDateTime> getStudentSubmissionVersion(Long assignmentId, Long studentId) {
+        return submissionRepository.findUpdatedAtByAssignmentIdAndStudentId(assignmentId, studentId);
+    }
+
+    public CollectionVersion getAssignmentSubmissionsVersion(Long assignmentId) {
+        return submissionRepository.findCollectionVersionByAssignmentId(assignmentId);
+    }
+
+    /**
+     * Version of the student names summaries are shown with; read from the user service client's cache,
+     * never from the user service itself
+     */
+    public String getStudentNamesVersion() {
+        return userServiceClient.getVersion();
+    }
+
+    public CollectionVersion getStudentSubmissionsVersion(Long studentId) {
+        return submissionRepository.findCollectionVersionByStudentId(studentId);
+    }
+
     public Long countSubmissionsByAssignment(Long assignmentId) {
-        return submissionRepository.countByAssignmentId(assignmentId);
+        return getSubmissionCounts(assignmentId).getTotal();
+    }
+
+    /**
+     * Get an assignment's submission totals by status
+     * Reads the maintained counter row; falls back to a live count only if it has not been created yet
+     *
+     * @param assignmentId The assignment ID
+     * @return The counts
+     */
+    public AssignmentSubmissionCount getSubmissionCounts(Long assignmentId) {
+        return submissionCounterService.getCounts(assignmentId).orElseGet(() -> {
+            AssignmentSubmissionCount counts = new AssignmentSubmissionCount(assignmentId);
+            counts.setTotal(submissionRepository.countByAssignmentId(assignmentId));
+            return counts;
+        });
+    }
+
+    /**
+     * The (assignment, student) key is the only unique constraint an insert into submissions can hit,
+     * so a duplicate-key error whose constraint name the driver did not report is treated as one too
+     */
+    private boolean isDuplicateSubmission(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                if (constraint == null) {
+                    return isDuplicateKey(violation.getSQLException());
+                }
+                String name = constraint.toLowerCase();
+                return name.contains(Submission.UNIQUE_ASSIGNMENT_STUDENT)
+                        || name.contains(Submission.LEGACY_UNIQUE_ASSIGNMENT_STUDENT);
+            }
+            if (cause instanceof SQLException sqlException) {
+                return isDuplicateKey(sqlException);
+            }
+        }
+        return false;
+    }
+
+    private boolean isDuplicateKey(SQLException e) {
+        if (e == null) {
+            return false;
+        }
+        // 23505: unique violation (PostgreSQL, H2); MySQL reports 23000 for every integrity error,
+        // so only its duplicate-entry error code 1062 counts
+        return "23505".equals(e.getSQLState())
+                || ("23000".equals(e.getSQLState()) && e.getErrorCode() == MYSQL_DUPLICATE_ENTRY);
+    }
+
+    private void applyGrade(Submission submission, GradeRequest request, LocalDateTime gradedAt) {
+        submission.setGrade(request.getGrade());
+        submission.setFeedback(request.getFeedback());
+        submission.setStatus(SubmissionStatus.GRADED);
+        submission.setGradedAt(gradedAt);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Replaces the name and email stored at submission time with the user service's current values,
+     * resolving the whole roster in one batch call; rows keep their stored values if the lookup fails
+     */
+    private List<SubmissionSummary> withCurrentStudentNames(List<SubmissionSummary> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Map<Long, UserSummary> students = userServiceClient.getStudents(
+                rows.stream().map(SubmissionSummary::studentId).toList());
+        if (students.isEmpty()) {
+            return rows;
+        }
+        return rows.stream()
+                .map(row -> {
+                    UserSummary student = students.get(row.studentId());
+                    return student == null ? row : row.withStudent(student.name(), student.email());
+                })
+                .toList();
+    }
+
+    // One extra row is fetched to learn whether another page exists without a COUNT query
+    private <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, SubmissionCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        String nextCursor = cursorOf.apply(items.get(pageSize - 1)).encode();
+        return new CursorPage<>(items, nextCursor, true);
     }
 }
@@ -0,0 +1,145 @@
+package com.assignment.submissionservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Upload Content Inspector
+ * Checks what an upload really is from its bytes rather than its name or the client's content type:
+ * the leading bytes must carry the signature of the extension's format, and ZIP-based formats are
+ * walked for zip bombs. Bytes are pushed in by whoever writes the upload to disk, so inspection
+ * shares that single read.
+ */
+@Component
+public class UploadContentInspector {
+
+    private static final byte[] ZIP = {'P', 'K', 3, 4};
+    private static final byte[] EMPTY_ZIP = {'P', 'K', 5, 6};
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private static final Map<String, List<byte[]>> SIGNATURES = Map.of(
+            "pdf", List.of(new byte[]{'%', 'P', 'D', 'F', '-'}),
+            "zip", List.of(ZIP, EMPTY_ZIP),
+            "docx", List.of(ZIP),
+            "pptx", List.of(ZIP),
+            "doc", List.of(OLE2),
+            "ppt", List.of(OLE2),
+            "rar", List.of(new byte[]{'R', 'a', 'r', '!', 0x1A, 0x07}),
+            "jpg", List.of(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+            "jpeg", List.of(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+            "png", List.of(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})
+    );
+
+    private static final Set<String> ZIP_CONTAINERS = Set.of("zip", "docx", "pptx");
+
+    // Longest signature above
+    private static final int HEAD_SIZE = 8;
+    // Text files are checked for NUL bytes this far in; binaries have them almost at once
+    private static final int TEXT_PROBE_SIZE = 8192;
+
+    private final int maxEntries;
+    private final long maxRatio;
+    private final long maxUncompressedSize;
+
+    public UploadContentInspector(@Value("${file.upload.inspection.max-entries:10000}") int maxEntries,
+                                  @Value("${file.upload.inspection.max-ratio:100}") long maxRatio,
+                                  @Value("${file.upload.inspection.max-uncompressed-size:2GB}") DataSize maxUncompressedSize) {
+        this.maxEntries = maxEntries;
+        this.maxRatio = maxRatio;
+        this.maxUncompressedSize = maxUncompressedSize.toBytes();
+    }
+
+    /**
+     * Begin inspecting one upload
+     *
+     * @param extension The upload's file extension
+     * @return The inspection to push the upload's bytes through, in order
+     */
+    public Inspection start(String extension) {
+        String type = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+        ZipStreamInspector archive = ZIP_CONTAINERS.contains(type)
+                ? new ZipStreamInspector(maxEntries, maxRatio, maxUncompressedSize)
+                : null;
+        return new Inspection(type, archive);
+    }
+
+    /**
+     * Inspection state for one upload; not thread-safe
+     */
+    public static final class Inspection {
+
+        private final String type;
+        private final ZipStreamInspector archive;
+        private final byte[] head = new byte[HEAD_SIZE];
+        private int headLength;
+        private long position;
+
+        private Inspection(String type, ZipStreamInspector archive) {
+            this.type = type;
+            this.archive = archive;
+        }
+
+        /**
+         * Inspect the next bytes of the upload
+         *
+         * @throws IllegalArgumentException If the content is not what the extension says, or is a zip bomb
+         */
+        public void update(byte[] bytes, int offset, int length) {
+            if (headLength < HEAD_SIZE) {
+                int copied = Math.min(length, HEAD_SIZE - headLength);
+                System.arraycopy(bytes, offset, head, headLength, copied);
+                headLength += copied;
+                if (headLength == HEAD_SIZE) {
+                    checkSignature();
+                }
+            }
+            if ("txt".equals(type) && position < TEXT_PROBE_SIZE) {
+                int end = offset + (int) Math.min(length, TEXT_PROBE_SIZE - position);
+                for (int i = offset; i < end; i++) {
+                    if (bytes[i] == 0) {
+                        throw new IllegalArgumentException("File content does not match the .txt file type");
+                    }
+                }
+            }
+            if (archive != null) {
+                archive.update(bytes, offset, length);
+            }
+            position += length;
+        }
+
+        /**
+         * Complete the inspection once every byte has been pushed
+         *
+         * @throws IllegalArgumentException If the content is not what the extension says, or is a zip bomb
+         */
+        public void finish() {
+            if (headLength < HEAD_SIZE) {
+                checkSignature();
+            }
+            if (archive != null) {
+                archive.finish();
+            }
+        }
+
+        private void checkSignature() {
+            List<byte[]> signatures = SIGNATURES.get(type);
+            if (signatures == null) {
+                return;
+            }
+            for (byte[] signature : signatures) {
+                if (headLength >= signature.length
+                        && Arrays.equals(head, 0, signature.length, signature, 0, signature.length)) {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("File content does not match the ." + type + " file type");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import com.assignment.submissionservice.repository.SubmissionFileRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Upload Garbage Collector
+ * Deletes stored files that no submission fileUrl, submission file or assignment attachmentUrl
+ * points at any more, such as files replaced by a resubmission. Each run visits a limited number of files, shard
+ * directory by shard directory in sorted order, and the next run resumes after the last directory,
+ * so a sweep of the tree spreads over many runs and only one batch of paths is held at a time.
+ * Files younger than the grace period are kept: an upload is stored before the submission that
+ * uses it is saved. Stored objects with a positive reference count are kept without further queries;
+ * only those whose count has dropped to zero, legacy paths and objects without a row are checked
+ * against the tables before they are deleted.
+ */
+@Service
+@Slf4j
+public class UploadGarbageCollector {
+
+    private static final Pattern SHARD_NAME = Pattern.compile("[0-9a-f]{2}");
+
+    // Position of a sweep: the last shard directory (folder/ab/cd) visited
+    record ShardCursor(String folder, String first, String second) implements Comparable<ShardCursor> {
+
+        private static final Comparator<ShardCursor> ORDER = Comparator.comparing(ShardCursor::folder)
+                .thenComparing(ShardCursor::first)
+                .thenComparing(ShardCursor::second);
+
+        @Override
+        public int compareTo(ShardCursor other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Outcome of one collection run
+     */
+    public record Result(int scanned, int deleted, long reclaimedBytes, boolean sweepCompleted) {
+    }
+
+    private final UploadLayout uploadLayout;
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionFileRepository submissionFileRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final StoredObjectRepository storedObjectRepository;
+    private final ContentStoreService contentStoreService;
+    private final Duration gracePeriod;
+    private final int filesPerRun;
+    private final int batchSize;
+
+    private ShardCursor cursor;
+    private long totalDeleted;
+    private long totalReclaimedBytes;
+    private LocalDateTime lastSweepCompletedAt;
+
+    public UploadGarbageCollector(UploadLayout uploadLayout,
+                                  SubmissionRepository submissionRepository,
+                                  SubmissionFileRepository submissionFileRepository,
+                                  AssignmentRepository assignmentRepository,
+                                  StoredObjectRepository storedObjectRepository,
+                                  ContentStoreService contentStoreService,
+                                  @Value("${file.upload.gc.grace-period:PT24H}") Duration gracePeriod,
+                                  @Value("${file.upload.gc.files-per-run:5000}") int filesPerRun,
+                                  @Value("${file.upload.gc.batch-size:500}") int batchSize) {
+        this.uploadLayout = uploadLayout;
+        this.submissionRepository = submissionRepository;
+        this.submissionFileRepository = submissionFileRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.storedObjectRepository = storedObjectRepository;
+        this.contentStoreService = contentStoreService;
+        this.gracePeriod = gracePeriod;
+        this.filesPerRun = filesPerRun;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Examine up to one run's worth of files and delete the unreferenced ones
+     * Files still in the flat layout are left to the layout migrator and collected once moved
+     *
+     * @return What the run scanned and reclaimed
+     */
+    @Scheduled(fixedDelayString = "${file.upload.gc.interval:PT10M}",
+            initialDelayString = "${file.upload.gc.initial-delay:PT10M}")
+    public synchronized Result collect() {
+        Run run = new Run(Instant.now().minus(gracePeriod));
+        boolean completed = false;
+        try {
+            completed = sweep(run);
+        } catch (IOException e) {
+            log.warn("Upload garbage collection stopped early: {}", e.getMessage());
+        }
+        run.flush();
+
+        if (completed) {
+            cursor = null;
+            lastSweepCompletedAt = LocalDateTime.now();
+        }
+        totalDeleted += run.deleted;
+        totalReclaimedBytes += run.reclaimedBytes;
+        if (run.deleted > 0) {
+            log.info("Upload garbage collection deleted {} unreferenced files, reclaiming {} bytes",
+                    run.deleted, run.reclaimedBytes);
+        }
+        return new Result(run.scanned, run.deleted, run.reclaimedBytes, completed);
+    }
+
+    /**
+     * Totals since startup
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("deletedFiles", totalDeleted);
+        statistics.put("reclaimedBytes", totalReclaimedBytes);
+        statistics.put("lastSweepCompletedAt", lastSweepCompletedAt);
+        statistics.put("sweepPosition", cursor == null ? null
+                : cursor.folder() + "/" + cursor.first() + "/" + cursor.second());
+        return statistics;
+    }
+
+    // Returns false when the run's file limit stopped it before the end of the tree
+    private boolean sweep(Run run) throws IOException {
+        Path root = uploadLayout.root();
+        for (String folder : sortedDirectories(root, name -> !name.startsWith("."))) {
+            if (cursor != null && folder.compareTo(cursor.folder()) < 0) {
+                continue;
+            }
+            Path folderPath = root.resolve(folder);
+            for (String first : sortedDirectories(folderPath, name -> SHARD_NAME.matcher(name).matches())) {
+                if (cursor != null && folder.equals(cursor.folder()) && first.compareTo(cursor.first()) < 0) {
+                    continue;
+                }
+                Path firstPath = folderPath.resolve(first);
+                for (String second : sortedDirectories(firstPath, name -> SHARD_NAME.matcher(name).matches())) {
+                    ShardCursor shard = new ShardCursor(folder, first, second);
+                    if (cursor != null && shard.compareTo(cursor) <= 0) {
+                        continue;
+                    }
+                    scanShard(folder, firstPath.resolve(second), run);
+                    cursor = shard;
+                    if (run.scanned >= filesPerRun) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void scanShard(String folder, Path shard, Run run) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(shard)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (name.startsWith(".")) {
+                    continue;
+                }
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    continue;
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                run.scanned++;
+                if (attributes.lastModifiedTime().toInstant().isBefore(run.cutoff)) {
+                    run.add(folder + "/" + name, entry);
+                }
+            }
+        }
+    }
+
+    // Shard levels hold at most 256 entries, and the root a handful of folders, so sorting is cheap
+    private static List<String> sortedDirectories(Path parent, Predicate<String> accept)
+            throws IOException {
+        List<String> names = new ArrayList<>();
+        if (!Files.isDirectory(parent)) {
+            return names;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(parent, Files::isDirectory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (accept.test(name)) {
+                    names.add(name);
+                }
+            }
+        }
+        names.sort(null);
+        return names;
+    }
+
+    private final class Run {
+
+        private final Instant cutoff;
+        private final Map<String, Path> candidates = new LinkedHashMap<>();
+        private int scanned;
+        private int deleted;
+        private long reclaimedBytes;
+
+        private Run(Instant cutoff) {
+            this.cutoff = cutoff;
+        }
+
+        void add(String relativePath, Path file) {
+            candidates.put(relativePath, file);
+            if (candidates.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // One lookup for the reference counts, then one set lookup per table for what is left of the batch
+        void flush() {
+            if (candidates.isEmpty()) {
+                return;
+            }
+            Map<String, String> pathsByKey = new HashMap<>();
+            candidates.keySet().forEach(relativePath -> contentStoreService.objectKey(relativePath)
+                    .ifPresent(key -> pathsByKey.put(key, relativePath)));
+            if (!pathsByKey.isEmpty()) {
+                storedObjectRepository.findReferencedKeysIn(pathsByKey.keySet())
+                        .forEach(key -> candidates.remove(pathsByKey.get(key)));
+            }
+            if (!candidates.isEmpty()) {
+                Set<String> referenced = new HashSet<>(submissionRepository.findFileUrlsIn(candidates.keySet()));
+                referenced.addAll(submissionFileRepository.findFileUrlsIn(candidates.keySet()));
+                referenced.addAll(assignmentRepository.findAttachmentUrlsIn(candidates.keySet()));
+                candidates.forEach((relativePath, file) -> {
+                    if (!referenced.contains(relativePath)) {
+                        delete(relativePath, file);
+                    }
+                });
+            }
+            candidates.clear();
+        }
+
+        private void delete(String relativePath, Path file) {
+            try {
+                // Checked again: re-uploading identical bytes touches the stored object
+                if (!isExpired(Files.readAttributes(file, BasicFileAttributes.class))) {
+                    return;
+                }
+                // Moved aside before the final check, so an upload touching the object either lands
+                // before the move and is seen below, or finds it gone and stores its own copy
+                Path collected = contentStoreService.stagingPath("collect-" + UUID.randomUUID() + ".tmp");
+                Files.move(file, collected, StandardCopyOption.ATOMIC_MOVE);
+                BasicFileAttributes attributes = Files.readAttributes(collected, BasicFileAttributes.class);
+                if (!isExpired(attributes)) {
+                    Files.move(collected, file, StandardCopyOption.ATOMIC_MOVE);
+                    return;
+                }
+                Files.delete(collected);
+                deleted++;
+                reclaimedBytes += attributes.size();
+                log.debug("Deleted unreferenced upload {} ({} bytes)", relativePath, attributes.size());
+            } catch (IOException e) {
+                log.warn("Failed to delete unreferenced upload {}: {}", relativePath, e.getMessage());
+                return;
+            }
+            if (Files.exists(file)) {
+                // An upload of the same bytes stored them again meanwhile and still needs the row
+                return;
+            }
+            try {
+                contentStoreService.objectKey(relativePath).ifPresent(storedObjectRepository::deleteById);
+            } catch (RuntimeException e) {
+                log.warn("Deleted unreferenced upload {} but not its stored object row: {}", relativePath, e.getMessage());
+            }
+        }
+
+        private boolean isExpired(BasicFileAttributes attributes) {
+            return attributes.lastModifiedTime().toInstant().isBefore(cutoff);
+        }
+    }
+}
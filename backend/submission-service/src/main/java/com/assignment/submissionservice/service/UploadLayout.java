@@ -0,0 +1,85 @@
+package com.assignment.submissionservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Upload Directory Layout
+ * Maps the relative paths stored in fileUrl and attachmentUrl to files on disk. Files live two
+ * hex-prefix levels below their folder (objects/9f/d8/9fd8...pdf), so no directory grows past a few
+ * hundred entries. Stored paths never change: files still in the old flat layout resolve until the
+ * migrator has moved them.
+ */
+@Component
+public class UploadLayout {
+
+    static final String OBJECTS_DIR = "objects";
+    static final String STAGING_DIR = ".partial";
+
+    private final Path root;
+
+    public UploadLayout(@Value("${file.upload.dir:uploads}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * Where a stored path lives now: its sharded location, or the flat one if it has not moved yet
+     * The sharded location is checked again last, in case the migrator moved the file in between
+     */
+    public Path locate(String relativePath) {
+        Path sharded = shardedPath(relativePath);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path flat = flatPath(relativePath);
+        if (Files.exists(flat)) {
+            return flat;
+        }
+        return sharded;
+    }
+
+    /**
+     * Location of a stored path in the sharded layout, where new files are written
+     */
+    public Path shardedPath(String relativePath) {
+        Path flat = flatPath(relativePath);
+        if (flat.getParent() == null || flat.getParent().equals(root)) {
+            return flat;
+        }
+        String name = flat.getFileName().toString();
+        String prefix = shardPrefix(flat.getParent().getFileName().toString(), name);
+        return flat.getParent().resolve(prefix.substring(0, 2)).resolve(prefix.substring(2, 4)).resolve(name);
+    }
+
+    public Path flatPath(String relativePath) {
+        return root.resolve(relativePath).normalize();
+    }
+
+    /**
+     * Content-addressed names already start with their digest; other names (timestamp_uuid.ext) are
+     * hashed, since their leading timestamp would put a semester's uploads in one directory
+     */
+    static String shardPrefix(String folder, String name) {
+        if (OBJECTS_DIR.equals(folder) && name.length() >= 4) {
+            return name.substring(0, 4);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(name.getBytes(StandardCharsets.UTF_8)), 0, 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.assignment.submissionservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Upload Layout Migrator
+ * Moves files left in the flat layout (uploads/submissions/*.pdf) into their hex-prefix shard
+ * directories while the service keeps running. Each move is a rename within the upload directory,
+ * and stored paths stay the same, so no row is touched and readers find a file before and after it
+ * moves. Runs are capped at a batch of files so other scheduled jobs are not held up.
+ */
+@Service
+@Slf4j
+public class UploadLayoutMigrator {
+
+    private final UploadLayout uploadLayout;
+    private final int batchSize;
+
+    public UploadLayoutMigrator(UploadLayout uploadLayout,
+                                @Value("${file.upload.layout.migration-batch-size:2000}") int batchSize) {
+        this.uploadLayout = uploadLayout;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Move up to one batch of flat files into the sharded layout
+     * Once everything has moved a run only lists a few shard directories
+     *
+     * @return Number of files moved
+     */
+    @Scheduled(fixedDelayString = "${file.upload.layout.migration-interval:PT1M}",
+            initialDelayString = "${file.upload.layout.migration-initial-delay:PT2M}")
+    public int migrate() {
+        Path root = uploadLayout.root();
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int moved = 0;
+        try (DirectoryStream<Path> folders = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path folder : folders) {
+                if (moved >= batchSize) {
+                    break;
+                }
+                if (!folder.getFileName().toString().startsWith(".")) {
+                    moved += migrateFolder(root.relativize(folder).toString(), folder, batchSize - moved);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list upload directory {}: {}", root, e.getMessage());
+        }
+        if (moved > 0) {
+            log.info("Moved {} uploaded files into the sharded layout", moved);
+        }
+        return moved;
+    }
+
+    private int migrateFolder(String folderName, Path folder, int limit) {
+        int moved = 0;
+        // Streams the listing, so a folder with hundreds of thousands of entries is never held in memory
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(folder,
+                entry -> Files.isRegularFile(entry, LinkOption.NOFOLLOW_LINKS))) {
+            for (Path entry : entries) {
+                if (moved >= limit) {
+                    break;
+                }
+                String name = entry.getFileName().toString();
+                if (name.startsWith(".")) {
+                    continue;
+                }
+                Path target = uploadLayout.shardedPath(folderName + "/" + name);
+                try {
+                    Files.createDirectories(target.getParent());
+                    Files.move(entry, target, StandardCopyOption.ATOMIC_MOVE);
+                    moved++;
+                } catch (IOException e) {
+                    log.warn("Failed to move {} into the sharded layout: {}", entry, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list upload folder {}: {}", folder, e.getMessage());
+        }
+        return moved;
+    }
+}
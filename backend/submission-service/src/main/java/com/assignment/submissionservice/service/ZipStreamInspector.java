@@ -0,0 +1,268 @@
+package com.assignment.submissionservice.service;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Zip Stream Inspector
+ * Walks a ZIP archive's structure as its bytes are pushed through, front to back: local entries,
+ * then the central directory, then the end record. Deflated entries are inflated into a small
+ * scratch buffer that is thrown away, so the real expanded size is measured rather than the size
+ * the headers claim; the archive is rejected as soon as it has too many entries, expands too far,
+ * or lists more central directory entries than it stores (the overlapping-entry bomb).
+ * Memory use is fixed whatever the archive holds.
+ */
+final class ZipStreamInspector {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int DATA_DESCRIPTOR = 0x08074b50;
+
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    private static final int FLAG_ENCRYPTED = 1;
+    private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+    // Small entries may compress arbitrarily well; a megabyte of blank lines is no threat
+    private static final long RATIO_CHECK_THRESHOLD = 1024 * 1024;
+
+    private enum Phase {
+        SIGNATURE, LOCAL_HEADER, CENTRAL_HEADER, END_RECORD, DESCRIPTOR, SKIP, INFLATE, TRAILING
+    }
+
+    private final int maxEntries;
+    private final long maxRatio;
+    private final long maxUncompressedSize;
+
+    // Fixed-size header scratch space: the largest fixed part is a central header after its signature
+    private final byte[] header = new byte[42];
+    private final byte[] sink = new byte[8192];
+    private final Inflater inflater = new Inflater(true);
+
+    private Phase phase;
+    private int needed;
+    private int filled;
+    private long skipRemaining;
+    private Phase afterSkip;
+
+    private boolean descriptorFollows;
+    private int localEntries;
+    private int centralEntries;
+    private long entryUncompressed;
+    private long totalUncompressed;
+    private long centralUncompressed;
+    private boolean ended;
+
+    ZipStreamInspector(int maxEntries, long maxRatio, long maxUncompressedSize) {
+        this.maxEntries = maxEntries;
+        this.maxRatio = maxRatio;
+        this.maxUncompressedSize = maxUncompressedSize;
+        collect(Phase.SIGNATURE, 4);
+    }
+
+    /**
+     * Inspect the next bytes of the archive
+     *
+     * @throws IllegalArgumentException If the archive is malformed or looks like a zip bomb
+     */
+    void update(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            int consumed;
+            switch (phase) {
+                case TRAILING -> consumed = length;
+                case SKIP -> {
+                    consumed = (int) Math.min(length, skipRemaining);
+                    skipRemaining -= consumed;
+                    if (skipRemaining == 0) {
+                        enter(afterSkip);
+                    }
+                }
+                case INFLATE -> consumed = inflate(bytes, offset, length);
+                default -> {
+                    consumed = Math.min(length, needed - filled);
+                    System.arraycopy(bytes, offset, header, filled, consumed);
+                    filled += consumed;
+                    if (filled == needed) {
+                        onHeader();
+                    }
+                }
+            }
+            offset += consumed;
+            length -= consumed;
+        }
+    }
+
+    /**
+     * Confirm the archive ended with its end record
+     *
+     * @throws IllegalArgumentException If the archive stopped short
+     */
+    void finish() {
+        inflater.end();
+        if (!ended) {
+            throw new IllegalArgumentException("Archive is truncated or not a ZIP file");
+        }
+    }
+
+    private void onHeader() {
+        switch (phase) {
+            case SIGNATURE -> onSignature(le32(0));
+            case LOCAL_HEADER -> onLocalHeader();
+            case CENTRAL_HEADER -> onCentralHeader();
+            case END_RECORD -> onEndRecord();
+            case DESCRIPTOR -> skip(le32(0) == DATA_DESCRIPTOR ? 12 : 8, Phase.SIGNATURE);
+            default -> throw new IllegalStateException("No header expected in phase " + phase);
+        }
+    }
+
+    private void onSignature(int signature) {
+        if (signature == LOCAL_HEADER && centralEntries == 0) {
+            collect(Phase.LOCAL_HEADER, 26);
+        } else if (signature == CENTRAL_HEADER) {
+            collect(Phase.CENTRAL_HEADER, 42);
+        } else if (signature == END_OF_CENTRAL_DIRECTORY) {
+            collect(Phase.END_RECORD, 18);
+        } else {
+            reject("unexpected ZIP structure");
+        }
+    }
+
+    private void onLocalHeader() {
+        if (++localEntries > maxEntries) {
+            reject("more than " + maxEntries + " entries");
+        }
+        int flags = le16(2);
+        int method = le16(4);
+        long compressed = le32(14) & ZIP64_MARKER;
+        long uncompressed = le32(18) & ZIP64_MARKER;
+        if (compressed == ZIP64_MARKER || uncompressed == ZIP64_MARKER) {
+            reject("ZIP64 entries are not accepted");
+        }
+        descriptorFollows = (flags & FLAG_DATA_DESCRIPTOR) != 0;
+        long nameAndExtra = le16(22) + le16(24);
+
+        if (method == METHOD_DEFLATED && (flags & FLAG_ENCRYPTED) == 0) {
+            inflater.reset();
+            entryUncompressed = 0;
+            skip(nameAndExtra, Phase.INFLATE);
+            return;
+        }
+        // Stored, encrypted or exotically compressed data can only be skipped, so its sizes must be known
+        if (descriptorFollows) {
+            reject("entry sizes are missing");
+        }
+        expanded(method == METHOD_STORED ? compressed : uncompressed, compressed);
+        skip(nameAndExtra + compressed, Phase.SIGNATURE);
+    }
+
+    private int inflate(byte[] bytes, int offset, int length) {
+        inflater.setInput(bytes, offset, length);
+        try {
+            while (!inflater.finished()) {
+                int produced = inflater.inflate(sink);
+                if (produced == 0) {
+                    if (inflater.needsDictionary()) {
+                        reject("entry uses a preset dictionary");
+                    }
+                    if (inflater.needsInput()) {
+                        return length;
+                    }
+                }
+                entryUncompressed += produced;
+                totalUncompressed += produced;
+                checkExpansion(entryUncompressed, inflater.getBytesRead());
+            }
+        } catch (DataFormatException e) {
+            reject("corrupt compressed data");
+        }
+        int consumed = length - inflater.getRemaining();
+        if (descriptorFollows) {
+            collect(Phase.DESCRIPTOR, 4);
+        } else {
+            collect(Phase.SIGNATURE, 4);
+        }
+        return consumed;
+    }
+
+    private void onCentralHeader() {
+        // Several directory entries pointing into one stored entry is how overlapping bombs expand
+        if (++centralEntries > localEntries) {
+            reject("central directory lists entries that are not stored");
+        }
+        long compressed = le32(16) & ZIP64_MARKER;
+        long uncompressed = le32(20) & ZIP64_MARKER;
+        if (compressed == ZIP64_MARKER || uncompressed == ZIP64_MARKER) {
+            reject("ZIP64 entries are not accepted");
+        }
+        centralUncompressed += uncompressed;
+        if (centralUncompressed > maxUncompressedSize) {
+            reject("expands beyond " + maxUncompressedSize + " bytes");
+        }
+        if (uncompressed > RATIO_CHECK_THRESHOLD && uncompressed / Math.max(1, compressed) > maxRatio) {
+            reject("compression ratio above " + maxRatio);
+        }
+        skip((long) le16(24) + le16(26) + le16(28), Phase.SIGNATURE);
+    }
+
+    private void onEndRecord() {
+        if (le16(6) != centralEntries || centralEntries != localEntries) {
+            reject("entry counts do not match");
+        }
+        ended = true;
+        phase = Phase.TRAILING;
+    }
+
+    private void expanded(long uncompressed, long compressed) {
+        totalUncompressed += uncompressed;
+        checkExpansion(uncompressed, compressed);
+    }
+
+    private void checkExpansion(long uncompressed, long compressed) {
+        if (totalUncompressed > maxUncompressedSize) {
+            reject("expands beyond " + maxUncompressedSize + " bytes");
+        }
+        if (uncompressed > RATIO_CHECK_THRESHOLD && uncompressed / Math.max(1, compressed) > maxRatio) {
+            reject("compression ratio above " + maxRatio);
+        }
+    }
+
+    private void collect(Phase next, int bytes) {
+        phase = next;
+        needed = bytes;
+        filled = 0;
+    }
+
+    private void skip(long bytes, Phase next) {
+        if (bytes == 0) {
+            enter(next);
+            return;
+        }
+        phase = Phase.SKIP;
+        skipRemaining = bytes;
+        afterSkip = next;
+    }
+
+    // Entry data is inflated as it arrives; every other phase starts by collecting a signature-sized field
+    private void enter(Phase next) {
+        if (next == Phase.INFLATE) {
+            phase = Phase.INFLATE;
+        } else {
+            collect(next, 4);
+        }
+    }
+
+    private void reject(String reason) {
+        inflater.end();
+        throw new IllegalArgumentException("Archive rejected: " + reason);
+    }
+
+    private int le16(int at) {
+        return (header[at] & 0xFF) | (header[at + 1] & 0xFF) << 8;
+    }
+
+    private int le32(int at) {
+        return le16(at) | le16(at + 2) << 16;
+    }
+}
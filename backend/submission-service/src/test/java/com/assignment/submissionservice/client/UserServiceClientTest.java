@@ -0,0 +1,86 @@
+package com.assignment.submissionservice.client;
+
+import com.assignment.submissionservice.dto.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit Tests for UserServiceClient
+ * Tests batched lookups, caching and back-off after failures
+ */
+class UserServiceClientTest {
+
+    private static final String BATCH_URL = "http://users.test/api/users/batch";
+
+    private MockRestServiceServer server;
+    private UserServiceClient userServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        userServiceClient = new UserServiceClient(restTemplate, "http://users.test",
+                Duration.ofMinutes(5), 100, Duration.ofSeconds(30), "service-secret");
+    }
+
+    @Test
+    void testGetStudents_OneCallThenCached() {
+        server.expect(ExpectedCount.once(), requestTo(BATCH_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Service-Token", "service-secret"))
+                .andExpect(content().json("{\"studentIds\":[7,8]}"))
+                .andRespond(withSuccess("{\"students\":[{\"id\":7,\"name\":\"Jane Doe\",\"email\":\"jane@uni.edu\"," +
+                        "\"department\":\"CS\",\"role\":\"STUDENT\",\"active\":true}],\"faculty\":[]}",
+                        MediaType.APPLICATION_JSON));
+
+        Map<Long, UserSummary> first = userServiceClient.getStudents(List.of(7L, 8L, 7L));
+        Map<Long, UserSummary> second = userServiceClient.getStudents(List.of(8L, 7L));
+
+        assertEquals("Jane Doe", first.get(7L).name());
+        assertFalse(first.containsKey(8L));
+        assertEquals(first, second);
+        server.verify();
+    }
+
+    @Test
+    void testVersion_ChangesOnlyWhenLookupResolvesSomethingNew() {
+        server.expect(ExpectedCount.once(), requestTo(BATCH_URL))
+                .andRespond(withSuccess("{\"students\":[{\"id\":7,\"name\":\"Jane Doe\",\"email\":\"jane@uni.edu\"}]," +
+                        "\"faculty\":[]}", MediaType.APPLICATION_JSON));
+        String initial = userServiceClient.getVersion();
+
+        userServiceClient.getStudents(List.of(7L));
+        String resolved = userServiceClient.getVersion();
+        userServiceClient.getStudents(List.of(7L));
+
+        assertNotEquals(initial, resolved);
+        assertEquals(resolved, userServiceClient.getVersion());
+        server.verify();
+    }
+
+    @Test
+    void testGetStudents_BacksOffAfterFailure() {
+        server.expect(ExpectedCount.once(), requestTo(BATCH_URL)).andRespond(withServerError());
+
+        assertTrue(userServiceClient.getStudents(List.of(7L)).isEmpty());
+        assertTrue(userServiceClient.getStudents(List.of(7L)).isEmpty());
+        server.verify();
+    }
+}
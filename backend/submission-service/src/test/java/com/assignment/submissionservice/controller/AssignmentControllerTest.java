@@ -0,0 +1,107 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.entity.Assignment;
+import com.assignment.submissionservice.service.AssignmentService;
+import com.assignment.submissionservice.service.GradeStatisticsService;
+import com.assignment.submissionservice.service.SubmissionExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit Tests for AssignmentController
+ * Tests that the cached faculty list is tagged by its probe and reloaded when it lags behind
+ */
+@ExtendWith(MockitoExtension.class)
+class AssignmentControllerTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Mock
+    private AssignmentService assignmentService;
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Mock
+    private SubmissionExportService submissionExportService;
+
+    @InjectMocks
+    private AssignmentController assignmentController;
+
+    private MockMvc mockMvc;
+    private String probeTag;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(assignmentController).build();
+        CollectionVersion version = mock(CollectionVersion.class);
+        when(version.getCount()).thenReturn(2L);
+        when(version.getLastUpdated()).thenReturn(UPDATED);
+        when(assignmentService.getFacultyAssignmentsVersion(7L)).thenReturn(version);
+        probeTag = ETags.forCollection("assignment", version);
+    }
+
+    @Test
+    void testFacultyList_CurrentCacheTaggedByProbe() throws Exception {
+        when(assignmentService.getAssignmentsByFaculty(7L))
+                .thenReturn(List.of(assignment(1L, UPDATED.minusDays(1)), assignment(2L, UPDATED)));
+
+        mockMvc.perform(get("/api/assignments/faculty/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, probeTag))
+                .andExpect(jsonPath("$.count").value(2));
+
+        verify(assignmentService, never()).reloadAssignmentsByFaculty(any());
+    }
+
+    @Test
+    void testFacultyList_StaleCacheReloaded() throws Exception {
+        // Cached before the second assignment was committed
+        when(assignmentService.getAssignmentsByFaculty(7L))
+                .thenReturn(List.of(assignment(1L, UPDATED.minusDays(1))));
+        when(assignmentService.reloadAssignmentsByFaculty(7L))
+                .thenReturn(List.of(assignment(1L, UPDATED.minusDays(1)), assignment(2L, UPDATED)));
+
+        mockMvc.perform(get("/api/assignments/faculty/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, probeTag))
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    void testFacultyList_MatchingTagAnsweredFromProbe() throws Exception {
+        mockMvc.perform(get("/api/assignments/faculty/7").header(HttpHeaders.IF_NONE_MATCH, probeTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, probeTag));
+
+        verify(assignmentService, never()).getAssignmentsByFaculty(any());
+    }
+
+    private static Assignment assignment(Long id, LocalDateTime updatedAt) {
+        Assignment assignment = new Assignment();
+        assignment.setId(id);
+        assignment.setFacultyId(7L);
+        assignment.setTitle("Essay " + id);
+        assignment.setUpdatedAt(updatedAt);
+        return assignment;
+    }
+}
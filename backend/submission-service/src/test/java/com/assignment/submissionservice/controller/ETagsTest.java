@@ -0,0 +1,59 @@
+package com.assignment.submissionservice.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ETags
+ * Tests tag derivation and If-None-Match matching
+ */
+class ETagsTest {
+
+    private final LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 9, 0, 0, 123_456_789);
+
+    @Test
+    void testEntityTag_ChangesWithUpdatedAt() {
+        String tag = ETags.forEntity("assignment", 1L, updatedAt);
+
+        assertTrue(tag.startsWith("\"assignment-1-") && tag.endsWith("\""));
+        assertNotEquals(tag, ETags.forEntity("assignment", 1L, updatedAt.plusNanos(1_000)));
+        // Sub-microsecond differences are below database precision
+        assertEquals(tag, ETags.forEntity("assignment", 1L, updatedAt.withNano(123_456_000)));
+    }
+
+    @Test
+    void testCollectionTag_MatchesProbeDerivedTag() {
+        List<LocalDateTime> items = List.of(updatedAt.minusDays(1), updatedAt);
+
+        String fromItems = ETags.forCollection("project", items, item -> item);
+
+        assertEquals(ETags.forCollection("project", 2, updatedAt), fromItems);
+        assertNotEquals(ETags.forCollection("project", 1, updatedAt), fromItems);
+    }
+
+    @Test
+    void testResolvedValues_ChangeTheTag() {
+        String tag = ETags.forCollection("submission", 2, updatedAt);
+
+        String resolved = ETags.withResolved(tag, "3.k2");
+
+        assertTrue(resolved.startsWith(tag.substring(0, tag.length() - 1)) && resolved.endsWith("\""));
+        assertEquals(resolved, ETags.withResolved(tag, "3.k2"));
+        assertNotEquals(resolved, ETags.withResolved(tag, "4.k2"));
+    }
+
+    @Test
+    void testMatches_IfNoneMatchForms() {
+        String tag = ETags.forEntity("submission", 9L, updatedAt);
+
+        assertTrue(ETags.matches(tag, tag));
+        assertTrue(ETags.matches("\"other\", W/" + tag, tag));
+        assertTrue(ETags.matches("*", tag));
+        assertFalse(ETags.matches("\"other\"", tag));
+        assertFalse(ETags.matches(null, tag));
+    }
+}
@@ -0,0 +1,136 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for FileDownloads
+ * Tests range parsing, conditional requests and the sendfile hand-off
+ */
+class FileDownloadsTest {
+
+    @TempDir
+    Path dir;
+
+    private byte[] content;
+    private StoredFile file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = new byte[100_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path path = dir.resolve("20240501_abcd1234.pdf");
+        Files.write(path, content);
+        file = new StoredFile(path, "Report final.pdf");
+    }
+
+    @Test
+    void testParseRange_Forms() {
+        assertEquals(new FileDownloads.Range(0, 99), FileDownloads.parseRange("bytes=0-99", 1000));
+        assertEquals(new FileDownloads.Range(500, 999), FileDownloads.parseRange("bytes=500-", 1000));
+        assertEquals(new FileDownloads.Range(900, 999), FileDownloads.parseRange("bytes=-100", 1000));
+        assertEquals(new FileDownloads.Range(900, 999), FileDownloads.parseRange("bytes=900-5000", 1000));
+        assertNull(FileDownloads.parseRange("bytes=0-1,5-6", 1000));
+        assertNull(FileDownloads.parseRange("items=0-1", 1000));
+        assertNull(FileDownloads.parseRange("bytes=9-2", 1000));
+        assertThrows(IllegalStateException.class, () -> FileDownloads.parseRange("bytes=1000-", 1000));
+    }
+
+    @Test
+    void testServe_WholeFileStreamed() throws IOException {
+        ResponseEntity<?> response = FileDownloads.serve(file, new MockHttpServletRequest("GET", "/file"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(content.length, response.getHeaders().getContentLength());
+        assertEquals("application/pdf", response.getHeaders().getContentType().toString());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertTrue(response.getHeaders().getContentDisposition().toString().contains("Report"));
+        assertArrayEquals(content, body(response));
+    }
+
+    @Test
+    void testServe_RangeResumesDownload() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.RANGE, "bytes=60000-");
+
+        ResponseEntity<?> response = FileDownloads.serve(file, request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 60000-99999/100000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(40_000, response.getHeaders().getContentLength());
+        assertArrayEquals(Arrays.copyOfRange(content, 60_000, content.length), body(response));
+    }
+
+    @Test
+    void testServe_RangeIgnoredWhenIfRangeIsStale() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"file-old\"");
+
+        ResponseEntity<?> response = FileDownloads.serve(file, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(content.length, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void testServe_UnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.RANGE, "bytes=200000-");
+
+        ResponseEntity<?> response = FileDownloads.serve(file, request);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */100000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void testServe_IfNoneMatchNotModified() throws IOException {
+        String etag = FileDownloads.serve(file, new MockHttpServletRequest("GET", "/file")).getHeaders().getETag();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        ResponseEntity<?> response = FileDownloads.serve(file, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testServe_SendfileHandOff() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.setAttribute(FileDownloads.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-49999");
+
+        ResponseEntity<?> response = FileDownloads.serve(file, request);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(file.path().toAbsolutePath().toString(), request.getAttribute(FileDownloads.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(FileDownloads.SENDFILE_START));
+        assertEquals(50_000L, request.getAttribute(FileDownloads.SENDFILE_END));
+    }
+
+    private byte[] body(ResponseEntity<?> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,154 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.dto.CollectionVersion;
+import com.assignment.submissionservice.dto.CursorPage;
+import com.assignment.submissionservice.dto.StoredFile;
+import com.assignment.submissionservice.dto.SubmissionSummary;
+import com.assignment.submissionservice.entity.Submission;
+import com.assignment.submissionservice.service.SubmissionExportService;
+import com.assignment.submissionservice.service.SubmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit Tests for SubmissionController
+ * Tests that small files are streamed through the MVC pipeline and list tags cover resolved names
+ */
+@ExtendWith(MockitoExtension.class)
+class SubmissionControllerTest {
+
+    private static final String CONTENT = "%PDF-1.7 a small submission";
+
+    @Mock
+    private SubmissionService submissionService;
+
+    @Mock
+    private SubmissionExportService submissionExportService;
+
+    @InjectMocks
+    private SubmissionController submissionController;
+
+    @TempDir
+    Path uploadDir;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(submissionController).build();
+    }
+
+    @Test
+    void testDownload_SmallFileIsStreamed() throws Exception {
+        when(submissionService.getSubmissionFile(1L)).thenReturn(Optional.of(storedFile()));
+
+        MvcResult result = mockMvc.perform(get("/api/submissions/1/file"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void testDownload_RangeOfSmallFile() throws Exception {
+        when(submissionService.getSubmissionFile(1L)).thenReturn(Optional.of(storedFile()));
+
+        MvcResult result = mockMvc.perform(get("/api/submissions/1/file").header(HttpHeaders.RANGE, "bytes=0-7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-7/" + CONTENT.length()))
+                .andExpect(content().string("%PDF-1.7"));
+    }
+
+    @Test
+    void testDownload_MissingFileIsNotFound() throws Exception {
+        when(submissionService.getSubmissionFile(2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/submissions/2/file"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testAssignmentList_MatchingTagAnsweredFromProbes() throws Exception {
+        stubAssignmentVersion("1.abc");
+        when(submissionService.getSubmissionSummariesByAssignmentPage(10L, null, null)).thenReturn(page("Ada Lovelace"));
+
+        String etag = mockMvc.perform(get("/api/submissions/assignment/10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/submissions/assignment/10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // Only the first request loaded the page (and resolved its names)
+        verify(submissionService, times(1)).getSubmissionSummariesByAssignmentPage(any(), any(), any());
+    }
+
+    @Test
+    void testAssignmentList_RenamedStudentChangesTheTag() throws Exception {
+        stubAssignmentVersion("1.abc");
+        when(submissionService.getSubmissionSummariesByAssignmentPage(10L, null, null))
+                .thenReturn(page("Ada Lovelace"), page("Ada King"));
+
+        String etag = mockMvc.perform(get("/api/submissions/assignment/10"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Only the name resolved from the user service changed, not the submission rows
+        when(submissionService.getStudentNamesVersion()).thenReturn("2.abc");
+        mockMvc.perform(get("/api/submissions/assignment/10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.submissions[0].studentName").value("Ada King"));
+    }
+
+    private void stubAssignmentVersion(String namesVersion) {
+        CollectionVersion version = mock(CollectionVersion.class);
+        when(version.getCount()).thenReturn(1L);
+        when(version.getLastUpdated()).thenReturn(LocalDateTime.of(2024, 5, 1, 9, 0));
+        when(submissionService.getAssignmentSubmissionsVersion(10L)).thenReturn(version);
+        when(submissionService.getStudentNamesVersion()).thenReturn(namesVersion);
+    }
+
+    private static CursorPage<SubmissionSummary> page(String studentName) {
+        return new CursorPage<>(List.of(new SubmissionSummary(1L, 10L, 7L, studentName, "ada@uni.edu", "essay.pdf",
+                Submission.SubmissionStatus.SUBMITTED, null, null, LocalDateTime.of(2024, 5, 1, 9, 0), null)),
+                null, false);
+    }
+
+    private StoredFile storedFile() throws IOException {
+        Path path = uploadDir.resolve("essay.pdf");
+        Files.writeString(path, CONTENT, StandardCharsets.UTF_8);
+        return new StoredFile(path, "essay.pdf");
+    }
+}
@@ -0,0 +1,74 @@
+package com.assignment.submissionservice.controller;
+
+import com.assignment.submissionservice.entity.UploadSession;
+import com.assignment.submissionservice.service.ChunkedUploadService;
+import com.assignment.submissionservice.service.UploadGarbageCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit Tests for UploadController
+ * Tests that chunk bodies are only accepted as raw bytes
+ */
+@ExtendWith(MockitoExtension.class)
+class UploadControllerTest {
+
+    @Mock
+    private ChunkedUploadService chunkedUploadService;
+
+    @Mock
+    private UploadGarbageCollector uploadGarbageCollector;
+
+    @InjectMocks
+    private UploadController uploadController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(uploadController).build();
+    }
+
+    @Test
+    void testUploadChunk_OctetStreamAccepted() throws Exception {
+        UploadSession session = new UploadSession("essay.pdf", 10, 10);
+        session.setId("session-1");
+        when(chunkedUploadService.writeChunk(eq("session-1"), eq(0L), eq("abc"), any())).thenReturn(session);
+
+        mockMvc.perform(put("/api/uploads/session-1/chunks")
+                        .param("offset", "0")
+                        .header(UploadController.CHUNK_CHECKSUM_HEADER, "abc")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[10]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadId").value("session-1"));
+    }
+
+    @Test
+    void testUploadChunk_FormBodyRejected() throws Exception {
+        mockMvc.perform(put("/api/uploads/session-1/chunks")
+                        .param("offset", "0")
+                        .header(UploadController.CHUNK_CHECKSUM_HEADER, "abc")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content("a=b"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(chunkedUploadService, never()).writeChunk(any(), anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,236 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.config.CacheConfig;
+import com.assignment.submissionservice.dto.AssignmentRequest;
+import com.assignment.submissionservice.entity.Assignment;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Spring Tests for the assignment caches
+ * Tests which keys each write evicts and that evictions wait for the commit
+ */
+@SpringJUnitConfig(AssignmentServiceCacheTest.Config.class)
+class AssignmentServiceCacheTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({CacheConfig.class, AssignmentService.class})
+    static class Config {
+
+        @Bean
+        ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoResourceTransactionManager();
+        }
+    }
+
+    @MockBean
+    private AssignmentRepository assignmentRepository;
+
+    @MockBean
+    private SubmissionCounterService submissionCounterService;
+
+    @MockBean
+    private GradeStatisticsService gradeStatisticsService;
+
+    @MockBean
+    private FileUploadService fileUploadService;
+
+    @MockBean
+    private ContentStoreService contentStoreService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache byId;
+    private Cache byFaculty;
+
+    @BeforeEach
+    void setUp() {
+        byId = cacheManager.getCache(CacheConfig.ASSIGNMENTS);
+        byFaculty = cacheManager.getCache(CacheConfig.FACULTY_ASSIGNMENTS);
+        byId.clear();
+        byFaculty.clear();
+        when(assignmentRepository.save(any(Assignment.class))).thenAnswer(invocation -> {
+            Assignment saved = invocation.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(99L);
+            }
+            return saved;
+        });
+    }
+
+    @Test
+    void testCacheManager_TransactionAware() {
+        assertInstanceOf(TransactionAwareCacheManagerProxy.class, cacheManager);
+    }
+
+    @Test
+    void testCreate_EvictsRequestFacultyOnly() {
+        byFaculty.put(7L, List.of());
+        byFaculty.put(8L, List.of());
+        AssignmentRequest request = new AssignmentRequest();
+        request.setTitle("Essay");
+        request.setFacultyId(7L);
+
+        assignmentService.createAssignment(request);
+
+        assertNull(byFaculty.get(7L));
+        assertNotNull(byFaculty.get(8L));
+    }
+
+    @Test
+    void testUpdate_EvictsAssignmentAndResultFaculty() {
+        stubAssignment(5L, 7L);
+        byId.put(5L, assignment(5L, 7L));
+        byId.put(6L, assignment(6L, 7L));
+        byFaculty.put(7L, List.of());
+        byFaculty.put(8L, List.of());
+
+        assignmentService.updateAssignment(5L, new AssignmentRequest());
+
+        assertNull(byId.get(5L));
+        assertNotNull(byId.get(6L));
+        assertNull(byFaculty.get(7L));
+        assertNotNull(byFaculty.get(8L));
+    }
+
+    @Test
+    void testDelete_EvictsAssignmentAndResultFaculty() {
+        stubAssignment(5L, 8L);
+        byId.put(5L, assignment(5L, 8L));
+        byFaculty.put(7L, List.of());
+        byFaculty.put(8L, List.of());
+
+        assignmentService.deleteAssignment(5L);
+
+        assertNull(byId.get(5L));
+        assertNull(byFaculty.get(8L));
+        assertNotNull(byFaculty.get(7L));
+    }
+
+    @Test
+    void testReload_ReplacesFacultyEntry() {
+        Assignment current = assignment(5L, 7L);
+        byFaculty.put(7L, List.of());
+        when(assignmentRepository.findByFacultyId(7L)).thenReturn(List.of(current));
+
+        assertEquals(List.of(current), assignmentService.reloadAssignmentsByFaculty(7L));
+        assertEquals(List.of(current), byFaculty.get(7L).get());
+    }
+
+    @Test
+    void testEviction_AppliedAfterCommit() {
+        stubAssignment(5L, 7L);
+        byId.put(5L, assignment(5L, 7L));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assignmentService.deleteAssignment(5L);
+            // Still cached until the surrounding transaction commits
+            assertNotNull(byId.get(5L));
+        });
+
+        assertNull(byId.get(5L));
+    }
+
+    @Test
+    void testEviction_SkippedOnRollback() {
+        stubAssignment(5L, 7L);
+        byId.put(5L, assignment(5L, 7L));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assignmentService.deleteAssignment(5L);
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(byId.get(5L));
+    }
+
+    @Test
+    void testCacheDisabled_NoOpCacheManager() {
+        new ApplicationContextRunner()
+                .withBean(ConversionService.class, ApplicationConversionService::getSharedInstance)
+                .withUserConfiguration(CacheConfig.class)
+                .withPropertyValues("assignment.cache.enabled=false")
+                .run(context -> assertInstanceOf(NoOpCacheManager.class, context.getBean(CacheManager.class)));
+    }
+
+    private void stubAssignment(Long id, Long facultyId) {
+        when(assignmentRepository.findById(id)).thenReturn(Optional.of(assignment(id, facultyId)));
+    }
+
+    private Assignment assignment(Long id, Long facultyId) {
+        Assignment assignment = new Assignment();
+        assignment.setId(id);
+        assignment.setFacultyId(facultyId);
+        assignment.setActive(true);
+        return assignment;
+    }
+
+    /**
+     * Transaction manager with no underlying resource, enough to drive transaction synchronization
+     */
+    private static class NoResourceTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.UploadSessionRequest;
+import com.assignment.submissionservice.entity.UploadSession;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import com.assignment.submissionservice.repository.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for ChunkedUploadService
+ * Tests out-of-order chunk writes, checksum and length checks, completion and cleanup
+ */
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private FileUploadService fileUploadService;
+    private ChunkedUploadService chunkedUploadService;
+    private UploadSession session;
+    private boolean inTransaction;
+
+    private final byte[] content = "%PDF-1.7 chunked bytes!".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        UploadLayout uploadLayout = new UploadLayout(uploadDir.toString());
+        ContentStoreService contentStoreService = new ContentStoreService(storedObjectRepository, uploadLayout,
+                new UploadContentInspector(100, 100, DataSize.ofMegabytes(100)));
+        fileUploadService = new FileUploadService(contentStoreService, uploadLayout, 10 * 1024 * 1024, 20, 2);
+        chunkedUploadService = new ChunkedUploadService(uploadSessionRepository, fileUploadService,
+                transactionTemplate, DataSize.ofBytes(10), DataSize.ofKilobytes(1), Duration.ofHours(1));
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null);
+            } finally {
+                inTransaction = false;
+            }
+        });
+        lenient().doAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(uploadSessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> {
+            UploadSession saved = invocation.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId("session-1");
+            }
+            session = saved;
+            return saved;
+        });
+
+        chunkedUploadService.createSession(new UploadSessionRequest("essay.pdf", (long) content.length));
+        lenient().when(uploadSessionRepository.findById("session-1")).thenAnswer(invocation -> Optional.of(session));
+        lenient().when(uploadSessionRepository.findForUpdate("session-1")).thenAnswer(invocation -> Optional.of(session));
+    }
+
+    @Test
+    void testCreateSession_PreallocatesFile() throws IOException {
+        assertEquals(3, session.getTotalChunks());
+        assertEquals(content.length, Files.size(fileUploadService.getPartialUploadPath("session-1")));
+    }
+
+    @Test
+    void testChunksOutOfOrder_ThenComplete() throws IOException {
+        writeChunk(20);
+        writeChunk(0);
+        assertEquals(List.of(1), session.getMissingChunks());
+        UploadSession updated = writeChunk(10);
+
+        String fileUrl = chunkedUploadService.complete("session-1");
+
+        assertTrue(updated.isComplete());
+        assertTrue(fileUrl.startsWith("objects/") && fileUrl.endsWith(".pdf"));
+        assertArrayEquals(content, Files.readAllBytes(fileUploadService.getFilePath(fileUrl)));
+        assertFalse(Files.exists(fileUploadService.getPartialUploadPath("session-1")));
+        verify(uploadSessionRepository).delete(session);
+    }
+
+    @Test
+    void testComplete_StoresFileOutsideTheSessionTransaction() throws IOException {
+        writeChunk(0);
+        writeChunk(10);
+        writeChunk(20);
+        List<Boolean> storedInTransaction = new ArrayList<>();
+        when(storedObjectRepository.existsById(any())).thenAnswer(invocation -> {
+            storedInTransaction.add(inTransaction);
+            return false;
+        });
+
+        chunkedUploadService.complete("session-1");
+
+        assertEquals(List.of(false), storedInTransaction);
+        assertNotNull(session.getCompletingAt());
+        verify(uploadSessionRepository).delete(session);
+    }
+
+    @Test
+    void testCompleting_SecondCompleteChunksAndCancelRefused() throws IOException {
+        writeChunk(0);
+        writeChunk(10);
+        writeChunk(20);
+        session.setCompletingAt(LocalDateTime.now());
+
+        assertThrows(IllegalStateException.class, () -> chunkedUploadService.complete("session-1"));
+        assertThrows(IllegalStateException.class, () -> writeChunk(0));
+        assertThrows(IllegalStateException.class, () -> chunkedUploadService.cancel("session-1"));
+        assertTrue(Files.exists(fileUploadService.getPartialUploadPath("session-1")));
+        verify(uploadSessionRepository, never()).delete(any());
+    }
+
+    @Test
+    void testComplete_StoreFailureReleasesSessionForRetry() throws IOException {
+        writeChunk(0);
+        writeChunk(10);
+        writeChunk(20);
+        Files.delete(fileUploadService.getPartialUploadPath("session-1"));
+
+        assertThrows(IllegalStateException.class, () -> chunkedUploadService.complete("session-1"));
+        assertNull(session.getCompletingAt());
+        verify(uploadSessionRepository, never()).delete(any());
+    }
+
+    @Test
+    void testChecksumMismatch_ChunkNotMarked() {
+        byte[] chunk = Arrays.copyOfRange(content, 0, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.writeChunk("session-1", 0,
+                sha256("something else".getBytes(StandardCharsets.UTF_8)), new ByteArrayInputStream(chunk)));
+        assertTrue(session.getReceivedChunks().isEmpty());
+    }
+
+    @Test
+    void testFailedRetry_UnmarksChunk() throws IOException {
+        writeChunk(0);
+        byte[] corrupt = new byte[10];
+
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.writeChunk("session-1", 0,
+                sha256(Arrays.copyOfRange(content, 0, 10)), new ByteArrayInputStream(corrupt)));
+        assertEquals(List.of(0, 1, 2), session.getMissingChunks());
+    }
+
+    @Test
+    void testChunkLengthAndOffsetChecked() {
+        byte[] shortChunk = Arrays.copyOfRange(content, 0, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.writeChunk("session-1", 0,
+                sha256(shortChunk), new ByteArrayInputStream(shortChunk)));
+        assertThrows(IllegalArgumentException.class, () -> chunkedUploadService.writeChunk("session-1", 5,
+                sha256(shortChunk), new ByteArrayInputStream(shortChunk)));
+        assertTrue(session.getReceivedChunks().isEmpty());
+    }
+
+    @Test
+    void testComplete_MissingChunksRejected() throws IOException {
+        writeChunk(0);
+
+        assertThrows(IllegalStateException.class, () -> chunkedUploadService.complete("session-1"));
+        verify(uploadSessionRepository, never()).delete(any());
+    }
+
+    @Test
+    void testCleanupAbandoned_RemovesStagingFile() throws IOException {
+        when(uploadSessionRepository.findIdsIdleSince(any())).thenReturn(List.of("session-1"));
+
+        assertEquals(1, chunkedUploadService.cleanupAbandoned());
+        verify(uploadSessionRepository).delete(session);
+        assertFalse(Files.exists(fileUploadService.getPartialUploadPath("session-1")));
+    }
+
+    private UploadSession writeChunk(int offset) throws IOException {
+        byte[] chunk = Arrays.copyOfRange(content, offset, Math.min(content.length, offset + 10));
+        return chunkedUploadService.writeChunk("session-1", offset, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.entity.StoredObject;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for ContentStoreService
+ * Tests deduplicated storage and reference counting by path
+ */
+@ExtendWith(MockitoExtension.class)
+class ContentStoreServiceTest {
+
+    private static final String DIGEST = "0a4a5b9ae5d6dc9d5ea7b9da0446e3a4e1d1c0a01c6e7fce4b1ee1a1a6cc3f5f";
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadLayout uploadLayout;
+    private ContentStoreService contentStoreService;
+
+    @BeforeEach
+    void setUp() {
+        uploadLayout = new UploadLayout(uploadDir.toString());
+        contentStoreService = new ContentStoreService(storedObjectRepository, uploadLayout,
+                new UploadContentInspector(100, 100, DataSize.ofMegabytes(100)));
+    }
+
+    @Test
+    void testStore_IdenticalBytesStoredOnce() throws IOException {
+        byte[] bytes = "starter".getBytes(StandardCharsets.UTF_8);
+        when(storedObjectRepository.existsById(any())).thenReturn(false, true);
+
+        String first = contentStoreService.store(new ByteArrayInputStream(bytes), "TXT");
+        String second = contentStoreService.store(new ByteArrayInputStream(bytes), "txt");
+
+        assertEquals(first, second);
+        assertTrue(first.startsWith("objects/") && first.endsWith(".txt"));
+        Path stored = uploadLayout.locate(first);
+        assertEquals(uploadLayout.shardedPath(first), stored);
+        assertArrayEquals(bytes, Files.readAllBytes(stored));
+        try (Stream<Path> objects = Files.list(stored.getParent());
+             Stream<Path> staging = Files.list(uploadDir.resolve(".partial"))) {
+            assertEquals(1, objects.count());
+            assertEquals(0, staging.count());
+        }
+        verify(storedObjectRepository, times(1)).saveAndFlush(any(StoredObject.class));
+    }
+
+    @Test
+    void testStoreStaged_SamePathAsStream() throws IOException {
+        byte[] bytes = "starter".getBytes(StandardCharsets.UTF_8);
+        when(storedObjectRepository.existsById(any())).thenReturn(true);
+        String streamed = contentStoreService.store(new ByteArrayInputStream(bytes), "txt");
+        Path staged = contentStoreService.stagingPath("session.part");
+        Files.write(staged, bytes);
+
+        assertEquals(streamed, contentStoreService.storeStaged(staged, "txt"));
+        assertFalse(Files.exists(staged));
+    }
+
+    @Test
+    void testStore_ObjectStillInFlatLayoutNotDuplicated() throws IOException {
+        byte[] bytes = "starter".getBytes(StandardCharsets.UTF_8);
+        when(storedObjectRepository.existsById(any())).thenReturn(true);
+        String path = contentStoreService.store(new ByteArrayInputStream(bytes), "txt");
+        Files.move(uploadLayout.shardedPath(path), uploadLayout.flatPath(path));
+
+        assertEquals(path, contentStoreService.store(new ByteArrayInputStream(bytes), "txt"));
+        assertFalse(Files.exists(uploadLayout.shardedPath(path)));
+        assertEquals(uploadLayout.flatPath(path), uploadLayout.locate(path));
+    }
+
+    @Test
+    void testStore_ObjectCollectedWhilePublishingStoredAgain() throws IOException {
+        byte[] bytes = "starter".getBytes(StandardCharsets.UTF_8);
+        when(storedObjectRepository.existsById(any())).thenReturn(true);
+        String path = contentStoreService.store(new ByteArrayInputStream(bytes), "txt");
+        // The garbage collector takes the object right after the upload has located it
+        UploadLayout racingLayout = spy(uploadLayout);
+        doAnswer(invocation -> {
+            Path located = (Path) invocation.callRealMethod();
+            Files.delete(located);
+            return located;
+        }).when(racingLayout).locate(path);
+        ContentStoreService racing = new ContentStoreService(storedObjectRepository, racingLayout,
+                new UploadContentInspector(100, 100, DataSize.ofMegabytes(100)));
+
+        assertEquals(path, racing.store(new ByteArrayInputStream(bytes), "txt"));
+        assertArrayEquals(bytes, Files.readAllBytes(uploadLayout.shardedPath(path)));
+    }
+
+    @Test
+    void testStore_RejectedContentLeavesNothingBehind() throws IOException {
+        byte[] bytes = "not really a pdf".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> contentStoreService.store(new ByteArrayInputStream(bytes), "pdf"));
+        try (Stream<Path> staging = Files.list(uploadDir.resolve(".partial"))) {
+            assertEquals(0, staging.count());
+        }
+        assertFalse(Files.exists(uploadDir.resolve("objects")));
+        verifyNoInteractions(storedObjectRepository);
+    }
+
+    @Test
+    void testObjectKey_OnlyContentAddressedPaths() {
+        String key = DIGEST + ".pdf";
+
+        assertEquals(Optional.of(key), contentStoreService.objectKey("objects/" + key));
+        assertTrue(contentStoreService.objectKey("submissions/20240501_120000_abcd1234.pdf").isEmpty());
+        assertTrue(contentStoreService.objectKey("https://example.com/file.pdf").isEmpty());
+        assertTrue(contentStoreService.objectKey("objects/../" + key).isEmpty());
+        assertTrue(contentStoreService.objectKey(null).isEmpty());
+    }
+
+    @Test
+    void testReplace_MovesReference() {
+        String previous = "objects/" + DIGEST + ".pdf";
+        String next = "objects/" + DIGEST.replace('0', '1') + ".pdf";
+        when(storedObjectRepository.adjustReferences(any(), anyLong())).thenReturn(1);
+
+        contentStoreService.replace(previous, next);
+        contentStoreService.replace(next, next);
+        contentStoreService.replace("submissions/legacy.pdf", null);
+
+        verify(storedObjectRepository).adjustReferences(DIGEST + ".pdf", -1);
+        verify(storedObjectRepository).adjustReferences(DIGEST.replace('0', '1') + ".pdf", 1);
+        verifyNoMoreInteractions(storedObjectRepository);
+    }
+}
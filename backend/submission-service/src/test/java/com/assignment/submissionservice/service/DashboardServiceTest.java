@@ -0,0 +1,137 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.AssignmentStatusCount;
+import com.assignment.submissionservice.dto.AssignmentSummary;
+import com.assignment.submissionservice.dto.FacultyDashboard;
+import com.assignment.submissionservice.dto.ProjectStatusCount;
+import com.assignment.submissionservice.dto.StudentAssignmentRow;
+import com.assignment.submissionservice.dto.StudentDashboard;
+import com.assignment.submissionservice.entity.Project.ProjectStatus;
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.ProjectRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for DashboardService
+ * Tests dashboard assembly from grouped queries
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private AssignmentSummary summary(Long id, String title) {
+        return new AssignmentSummary(id, title, "CS101", 7L, "Faculty",
+                LocalDateTime.of(2030, 1, 1, 0, 0), 100, true, null, null);
+    }
+
+    private AssignmentStatusCount statusCount(Long assignmentId, SubmissionStatus status, long count) {
+        return new AssignmentStatusCount() {
+            public Long getAssignmentId() { return assignmentId; }
+            public SubmissionStatus getStatus() { return status; }
+            public long getCount() { return count; }
+        };
+    }
+
+    private ProjectStatusCount projectCount(ProjectStatus status, long count) {
+        return new ProjectStatusCount() {
+            public ProjectStatus getStatus() { return status; }
+            public long getCount() { return count; }
+        };
+    }
+
+    @Test
+    void testFacultyDashboard_CombinesGroupedCounts() {
+        // Arrange - assignment 2 has no submissions yet
+        when(assignmentRepository.findSummariesByFacultyIdOrderByDueDateAsc(7L))
+                .thenReturn(List.of(summary(1L, "Essay"), summary(2L, "Quiz")));
+        when(submissionRepository.countByStatusForFaculty(7L)).thenReturn(List.of(
+                statusCount(1L, SubmissionStatus.SUBMITTED, 3),
+                statusCount(1L, SubmissionStatus.RESUBMITTED, 1),
+                statusCount(1L, SubmissionStatus.GRADED, 5)));
+        when(projectRepository.countByStatusForFaculty(7L)).thenReturn(List.of(
+                projectCount(ProjectStatus.IN_PROGRESS, 2),
+                projectCount(ProjectStatus.COMPLETED, 1)));
+
+        // Act
+        FacultyDashboard dashboard = dashboardService.getFacultyDashboard(7L);
+
+        // Assert
+        FacultyDashboard.AssignmentOverview essay = dashboard.getAssignments().get(0);
+        assertEquals(9, essay.getSubmitted());
+        assertEquals(5, essay.getGraded());
+        assertEquals(4, essay.getUngraded());
+        FacultyDashboard.AssignmentOverview quiz = dashboard.getAssignments().get(1);
+        assertEquals(0, quiz.getSubmitted());
+        assertEquals(3, dashboard.getTotalProjects());
+        assertEquals(2L, dashboard.getProjectStatusTotals().get(ProjectStatus.IN_PROGRESS));
+        assertEquals(0L, dashboard.getProjectStatusTotals().get(ProjectStatus.DELAYED));
+        verifyNoMoreInteractions(assignmentRepository, submissionRepository, projectRepository);
+    }
+
+    private StudentAssignmentRow row(Long assignmentId, LocalDateTime dueDate, Long submissionId,
+                                     SubmissionStatus status, Integer grade, LocalDateTime submittedAt) {
+        return new StudentAssignmentRow() {
+            public Long getAssignmentId() { return assignmentId; }
+            public String getTitle() { return "Assignment " + assignmentId; }
+            public String getCourse() { return "CS101"; }
+            public LocalDateTime getDueDate() { return dueDate; }
+            public Integer getMaxPoints() { return 100; }
+            public Long getSubmissionId() { return submissionId; }
+            public SubmissionStatus getStatus() { return status; }
+            public Integer getGrade() { return grade; }
+            public LocalDateTime getSubmittedAt() { return submittedAt; }
+        };
+    }
+
+    @Test
+    void testStudentDashboard_FlagsLateAndMissingWork() {
+        // Arrange - graded on time, submitted late, missing past due, not yet due
+        LocalDateTime past = LocalDateTime.now().minusDays(2);
+        LocalDateTime future = LocalDateTime.now().plusDays(2);
+        when(assignmentRepository.findActiveWithSubmissionForStudent(5L)).thenReturn(List.of(
+                row(1L, past, 11L, SubmissionStatus.GRADED, 90, past.minusHours(1)),
+                row(2L, past, 12L, SubmissionStatus.SUBMITTED, null, past.plusHours(1)),
+                row(3L, past, null, null, null, null),
+                row(4L, future, null, null, null, null)));
+
+        // Act
+        StudentDashboard dashboard = dashboardService.getStudentDashboard(5L);
+
+        // Assert
+        assertEquals(4, dashboard.getAssignments().size());
+        assertFalse(dashboard.getAssignments().get(0).isLate());
+        assertEquals(90, dashboard.getAssignments().get(0).getGrade());
+        assertTrue(dashboard.getAssignments().get(1).isLate());
+        assertTrue(dashboard.getAssignments().get(2).isLate());
+        assertFalse(dashboard.getAssignments().get(3).isLate());
+        assertEquals(2, dashboard.getSubmitted());
+        assertEquals(1, dashboard.getGraded());
+        assertEquals(2, dashboard.getPending());
+        assertEquals(2, dashboard.getLate());
+        verifyNoMoreInteractions(assignmentRepository);
+        verifyNoInteractions(submissionRepository, projectRepository);
+    }
+}
@@ -0,0 +1,93 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.UploadedFile;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for FileUploadService
+ * Tests storing the files of one multipart request in parallel
+ */
+@ExtendWith(MockitoExtension.class)
+class FileUploadServiceTest {
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadLayout uploadLayout;
+    private FileUploadService fileUploadService;
+
+    @BeforeEach
+    void setUp() {
+        uploadLayout = new UploadLayout(uploadDir.toString());
+        ContentStoreService contentStoreService = new ContentStoreService(storedObjectRepository, uploadLayout,
+                new UploadContentInspector(100, 100, DataSize.ofMegabytes(100)));
+        fileUploadService = new FileUploadService(contentStoreService, uploadLayout, 1024, 10, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileUploadService.shutdown();
+    }
+
+    @Test
+    void testUploadFiles_StoredInRequestOrder() throws IOException {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            files.add(text("part-" + i + ".txt", "contents of part " + i));
+        }
+
+        List<UploadedFile> uploaded = fileUploadService.uploadFiles(files);
+
+        assertEquals(8, uploaded.size());
+        for (int i = 0; i < 8; i++) {
+            UploadedFile file = uploaded.get(i);
+            assertEquals("part-" + i + ".txt", file.fileName());
+            assertEquals(files.get(i).getSize(), file.size());
+            assertEquals("contents of part " + i,
+                    Files.readString(uploadLayout.locate(file.fileUrl()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testUploadFiles_ValidatesEveryPartBeforeStoringAny() {
+        List<MultipartFile> duplicate = List.of(text("notes.txt", "a"), text("NOTES.txt", "b"));
+        List<MultipartFile> oversized = List.of(text("notes.txt", "a"), text("big.txt", "x".repeat(2048)));
+        List<MultipartFile> spoofed = List.of(text("notes.txt", "a"),
+                new MockMultipartFile("files", "report.pdf", null, "not a pdf".getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(IllegalArgumentException.class, () -> fileUploadService.uploadFiles(duplicate));
+        assertThrows(IllegalArgumentException.class, () -> fileUploadService.uploadFiles(oversized));
+        verifyNoInteractions(storedObjectRepository);
+        // Content is only inspected while it is stored, so the rejection surfaces from the pool
+        IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class,
+                () -> fileUploadService.uploadFiles(spoofed));
+        assertTrue(rejected.getMessage().contains(".pdf"));
+    }
+
+    private static MockMultipartFile text(String name, String content) {
+        return new MockMultipartFile("files", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
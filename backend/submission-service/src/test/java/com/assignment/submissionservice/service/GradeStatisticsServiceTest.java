@@ -0,0 +1,178 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.AssignmentGradeCount;
+import com.assignment.submissionservice.dto.GradeStatistics;
+import com.assignment.submissionservice.entity.Assignment;
+import com.assignment.submissionservice.entity.AssignmentGradeStats;
+import com.assignment.submissionservice.entity.GradeHistogram;
+import com.assignment.submissionservice.repository.AssignmentGradeStatsRepository;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for GradeStatisticsService
+ * Tests histogram statistics, incremental updates and drift reconciliation
+ */
+@ExtendWith(MockitoExtension.class)
+class GradeStatisticsServiceTest {
+
+    @Mock
+    private AssignmentGradeStatsRepository statsRepository;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private GradeStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new GradeStatisticsService(
+                statsRepository, submissionRepository, assignmentRepository, transactionTemplate);
+    }
+
+    private Assignment assignment(Long id, int maxPoints) {
+        Assignment assignment = new Assignment();
+        assignment.setId(id);
+        assignment.setMaxPoints(maxPoints);
+        return assignment;
+    }
+
+    private AssignmentGradeCount gradeCount(Long assignmentId, int grade, long count) {
+        return new AssignmentGradeCount() {
+            public Long getAssignmentId() { return assignmentId; }
+            public Integer getGrade() { return grade; }
+            public long getCount() { return count; }
+        };
+    }
+
+    @Test
+    void testStatistics_FromStoredHistogram() {
+        // Arrange - grades 60, 70, 70, 80, 100
+        AssignmentGradeStats stats = new AssignmentGradeStats(1L);
+        stats.setHistogram(GradeHistogram.decode("60:1,70:2,80:1,100:1"));
+        when(statsRepository.findById(1L)).thenReturn(Optional.of(stats));
+
+        // Act
+        GradeStatistics result = statisticsService.getStatistics(assignment(1L, 100), 4);
+
+        // Assert
+        assertEquals(5, result.getCount());
+        assertEquals(76.0, result.getMean(), 1e-9);
+        assertEquals(70.0, result.getMedian());
+        assertEquals(Math.sqrt(184.0), result.getStddev(), 1e-9);
+        assertEquals(60, result.getMin());
+        assertEquals(100, result.getMax());
+        assertEquals(60, result.getPercentiles().get("p10"));
+        assertEquals(80, result.getPercentiles().get("p75"));
+        assertEquals(100, result.getPercentiles().get("p99"));
+        assertEquals(List.of(
+                new GradeStatistics.Bucket(0, 24, 0),
+                new GradeStatistics.Bucket(25, 49, 0),
+                new GradeStatistics.Bucket(50, 74, 3),
+                new GradeStatistics.Bucket(75, 100, 2)), result.getHistogram());
+        verifyNoInteractions(submissionRepository);
+    }
+
+    @Test
+    void testStatistics_EmptyAssignment() {
+        // Arrange
+        when(statsRepository.findById(1L)).thenReturn(Optional.of(new AssignmentGradeStats(1L)));
+
+        // Act
+        GradeStatistics result = statisticsService.getStatistics(assignment(1L, 50), 10);
+
+        // Assert
+        assertEquals(0, result.getCount());
+        assertNull(result.getMean());
+        assertNull(result.getPercentiles().get("p50"));
+        assertEquals(10, result.getHistogram().size());
+        assertEquals(45, result.getHistogram().get(9).getFrom());
+        assertEquals(50, result.getHistogram().get(9).getTo());
+    }
+
+    @Test
+    void testMedian_EvenCountAveragesMiddleGrades() {
+        assertEquals(75.0, new GradeHistogram().add(60).add(70).add(80).add(90).median());
+    }
+
+    @Test
+    void testApply_RegradeMovesOneGrade() {
+        // Arrange
+        AssignmentGradeStats stats = new AssignmentGradeStats(1L);
+        stats.setHistogram(GradeHistogram.decode("70:2"));
+        when(statsRepository.findForUpdate(1L)).thenReturn(Optional.of(stats));
+
+        // Act
+        statisticsService.recordGradeChange(1L, 70, 95);
+
+        // Assert
+        assertEquals(GradeHistogram.decode("70:1,95:1"), stats.getHistogram());
+        verify(statsRepository).save(stats);
+    }
+
+    @Test
+    void testApply_UnchangedGradeIsNoOp() {
+        // Act
+        statisticsService.recordGradeChange(1L, 80, 80);
+
+        // Assert
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcile_RepairsOnlyDriftedHistograms() {
+        // Arrange - assignment 1 is correct, assignment 2 drifted, assignment 3 has no row
+        AssignmentGradeStats correct = new AssignmentGradeStats(1L);
+        correct.setHistogram(GradeHistogram.decode("90:1"));
+        AssignmentGradeStats drifted = new AssignmentGradeStats(2L);
+        drifted.setHistogram(GradeHistogram.decode("50:3"));
+        when(submissionRepository.countGroupedByAssignmentAndGrade()).thenReturn(List.of(
+                gradeCount(1L, 90, 1),
+                gradeCount(2L, 50, 2)));
+        when(statsRepository.findAll()).thenReturn(List.of(correct, drifted));
+        when(assignmentRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        doAnswer(invocation -> {
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(statsRepository.findForUpdate(2L)).thenReturn(Optional.of(drifted));
+        when(statsRepository.findForUpdate(3L)).thenReturn(Optional.empty());
+        when(submissionRepository.countByGradeForAssignment(2L)).thenReturn(List.of(gradeCount(2L, 50, 2)));
+        when(submissionRepository.countByGradeForAssignment(3L)).thenReturn(List.of());
+
+        // Act
+        int repaired = statisticsService.reconcile();
+
+        // Assert
+        assertEquals(2, repaired);
+        ArgumentCaptor<AssignmentGradeStats> saved = ArgumentCaptor.forClass(AssignmentGradeStats.class);
+        verify(statsRepository, times(2)).save(saved.capture());
+        assertEquals(Map.of(50, 2L), saved.getAllValues().get(0).getHistogram().getCounts());
+        assertEquals(3L, saved.getAllValues().get(1).getAssignmentId());
+        assertTrue(saved.getAllValues().get(1).getHistogram().isEmpty());
+        verify(statsRepository, never()).findForUpdate(1L);
+    }
+}
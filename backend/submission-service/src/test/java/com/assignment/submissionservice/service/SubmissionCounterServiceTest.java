@@ -0,0 +1,121 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.AssignmentStatusCount;
+import com.assignment.submissionservice.entity.AssignmentSubmissionCount;
+import com.assignment.submissionservice.entity.Submission.SubmissionStatus;
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.AssignmentSubmissionCountRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for SubmissionCounterService
+ * Tests counter deltas and drift reconciliation
+ */
+@ExtendWith(MockitoExtension.class)
+class SubmissionCounterServiceTest {
+
+    @Mock
+    private AssignmentSubmissionCountRepository countRepository;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SubmissionCounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new SubmissionCounterService(
+                countRepository, submissionRepository, assignmentRepository, transactionTemplate);
+    }
+
+    private AssignmentStatusCount statusCount(Long assignmentId, SubmissionStatus status, long count) {
+        return new AssignmentStatusCount() {
+            public Long getAssignmentId() { return assignmentId; }
+            public SubmissionStatus getStatus() { return status; }
+            public long getCount() { return count; }
+        };
+    }
+
+    @Test
+    void testDelta_NewSubmissionThenGraded() {
+        // Act
+        SubmissionCounterService.Delta delta = new SubmissionCounterService.Delta()
+                .transition(null, SubmissionStatus.SUBMITTED)
+                .transition(SubmissionStatus.SUBMITTED, SubmissionStatus.GRADED);
+        counterService.apply(1L, delta);
+
+        // Assert - net effect is one more graded submission
+        verify(countRepository).applyDelta(1L, 1, 0, 1, 0, 0);
+    }
+
+    @Test
+    void testDelta_RegradeIsNoOp() {
+        // Act
+        counterService.recordTransition(1L, SubmissionStatus.GRADED, SubmissionStatus.GRADED);
+
+        // Assert
+        verifyNoInteractions(countRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcile_RepairsOnlyDriftedCounters() {
+        // Arrange - assignment 1 is correct, assignment 2 drifted, assignment 3 has no row
+        AssignmentSubmissionCount correct = new AssignmentSubmissionCount(1L);
+        correct.setSubmitted(2);
+        correct.setTotal(2);
+        AssignmentSubmissionCount drifted = new AssignmentSubmissionCount(2L);
+        drifted.setGraded(5);
+        drifted.setTotal(5);
+        when(submissionRepository.countGroupedByAssignmentAndStatus()).thenReturn(List.of(
+                statusCount(1L, SubmissionStatus.SUBMITTED, 2),
+                statusCount(2L, SubmissionStatus.GRADED, 3),
+                statusCount(3L, SubmissionStatus.SUBMITTED, 1)));
+        when(countRepository.findAll()).thenReturn(List.of(correct, drifted));
+        when(assignmentRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        doAnswer(invocation -> {
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(countRepository.findForUpdate(2L)).thenReturn(Optional.of(drifted));
+        when(countRepository.findForUpdate(3L)).thenReturn(Optional.empty());
+        when(submissionRepository.countByStatusForAssignment(2L))
+                .thenReturn(List.of(statusCount(2L, SubmissionStatus.GRADED, 3)));
+        when(submissionRepository.countByStatusForAssignment(3L))
+                .thenReturn(List.of(statusCount(3L, SubmissionStatus.SUBMITTED, 1)));
+
+        // Act
+        int repaired = counterService.reconcile();
+
+        // Assert
+        assertEquals(2, repaired);
+        ArgumentCaptor<AssignmentSubmissionCount> saved = ArgumentCaptor.forClass(AssignmentSubmissionCount.class);
+        verify(countRepository, times(2)).save(saved.capture());
+        assertEquals(3, saved.getAllValues().get(0).getGraded());
+        assertEquals(3, saved.getAllValues().get(0).getTotal());
+        assertEquals(3L, saved.getAllValues().get(1).getAssignmentId());
+        assertEquals(1, saved.getAllValues().get(1).getTotal());
+        verify(countRepository, never()).findForUpdate(1L);
+    }
+}
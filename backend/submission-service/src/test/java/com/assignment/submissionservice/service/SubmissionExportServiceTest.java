@@ -0,0 +1,261 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.dto.SubmissionFileRow;
+import com.assignment.submissionservice.entity.Submission;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for SubmissionExportService
+ * Tests the CSV and NDJSON exports and the streamed ZIP bundle of an assignment's submitted files
+ */
+@ExtendWith(MockitoExtension.class)
+class SubmissionExportServiceTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private ContentStoreService contentStoreService;
+    private SubmissionExportService submissionExportService;
+
+    @BeforeEach
+    void setUp() {
+        UploadLayout uploadLayout = new UploadLayout(uploadDir.toString());
+        contentStoreService = new ContentStoreService(storedObjectRepository, uploadLayout,
+                new UploadContentInspector(100, 100, DataSize.ofMegabytes(100)));
+        FileUploadService fileUploadService = new FileUploadService(contentStoreService, uploadLayout, 10 * 1024 * 1024, 20, 2);
+        submissionExportService = new SubmissionExportService(submissionRepository, fileUploadService,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(submissionExportService, "entityManager", mock(EntityManager.class));
+    }
+
+    @Test
+    void testExportCsv_HeaderAndQuoting() throws IOException {
+        Submission submission = submission(1L, "Lovelace, Ada");
+        submission.setFeedback("She said \"fine\"");
+        submission.setComments("line one\r\nline two");
+        when(submissionRepository.streamByAssignmentId(7L)).thenReturn(Stream.of(submission));
+
+        String csv = export(7L, SubmissionExportService.FORMAT_CSV);
+
+        String[] lines = csv.split("\r\n", 2);
+        assertEquals("id,assignmentId,studentId,studentName,studentEmail,fileName,fileUrl,"
+                + "status,grade,feedback,comments,submittedAt,gradedAt", lines[0]);
+        assertEquals("1,7,10,\"Lovelace, Ada\",,essay.pdf,,SUBMITTED,,\"She said \"\"fine\"\"\","
+                + "\"line one\r\nline two\",,\r\n", lines[1]);
+    }
+
+    @Test
+    void testExportCsv_FormulaPrefixed() throws IOException {
+        List<Submission> rows = new ArrayList<>();
+        for (String name : List.of("=SUM(A1)", "+1", "-1", "@cmd", "\tcmd", "\rcmd", "Ada")) {
+            rows.add(submission(1L, name));
+        }
+        when(submissionRepository.streamAll()).thenReturn(rows.stream());
+
+        String csv = export(null, SubmissionExportService.FORMAT_CSV);
+
+        assertTrue(csv.contains(",'=SUM(A1),"));
+        assertTrue(csv.contains(",'+1,"));
+        assertTrue(csv.contains(",'-1,"));
+        assertTrue(csv.contains(",'@cmd,"));
+        assertTrue(csv.contains(",'\tcmd,"));
+        // A leading carriage return is prefixed and, being a line break, also quoted
+        assertTrue(csv.contains(",\"'\rcmd\","));
+        assertTrue(csv.contains(",Ada,"));
+    }
+
+    @Test
+    void testExportNdjson_OneObjectPerLine() throws IOException {
+        when(submissionRepository.streamByAssignmentId(7L))
+                .thenReturn(Stream.of(submission(1L, "Ada"), submission(2L, "Grace")));
+
+        String ndjson = export(7L, SubmissionExportService.FORMAT_NDJSON);
+
+        assertTrue(ndjson.endsWith("}\n"));
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("Ada", mapper.readTree(lines[0]).get("studentName").asText());
+        assertEquals(2, mapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    void testExport_EmptyResult() throws IOException {
+        when(submissionRepository.streamAll()).thenReturn(Stream.empty(), Stream.empty());
+
+        assertEquals("", export(null, SubmissionExportService.FORMAT_NDJSON));
+        assertEquals(String.join(",", "id", "assignmentId", "studentId", "studentName", "studentEmail",
+                "fileName", "fileUrl", "status", "grade", "feedback", "comments", "submittedAt", "gradedAt")
+                + "\r\n", export(null, SubmissionExportService.FORMAT_CSV));
+    }
+
+    @Test
+    void testWriteSubmissionBundle_EntriesNamedByStudent() throws IOException {
+        when(storedObjectRepository.existsById(any())).thenReturn(true);
+        String essay = contentStoreService.store(stream("essay text"), "txt");
+        String report = contentStoreService.store(stream("%PDF-report"), "pdf");
+        Stream<SubmissionFileRow> rows = Stream.of(
+                row(1L, 10L, "Ada Lovelace", essay, "essay.txt"),
+                row(2L, 11L, "../Grace/Hopper", report, "report.pdf"),
+                row(3L, 12L, null, "submissions/gone.pdf", "gone.pdf"));
+        when(submissionRepository.streamFilesByAssignmentId(7L)).thenReturn(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, submissionExportService.writeSubmissionBundle(7L, out));
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals("essay text", entries.get("Ada Lovelace (10)/essay.txt"));
+        assertEquals("%PDF-report", entries.get(".._Grace_Hopper (11)/report.pdf"));
+        assertTrue(entries.get("student (12)/MISSING.txt").contains("submissions/gone.pdf"));
+        assertEquals(3, entries.size());
+    }
+
+    @Test
+    void testWriteSubmissionBundle_CollidingNamesGetSuffixes() throws IOException {
+        when(storedObjectRepository.existsById(any())).thenReturn(true);
+        String first = contentStoreService.store(stream("%PDF-first"), "pdf");
+        String second = contentStoreService.store(stream("%PDF-second"), "pdf");
+        String third = contentStoreService.store(stream("%PDF-third"), "pdf");
+        // a?.pdf and a*.pdf both sanitize to a_.pdf; A_.PDF only differs in case
+        Stream<SubmissionFileRow> rows = Stream.of(
+                row(1L, 10L, "Ada", first, "a?.pdf"),
+                row(1L, 10L, "Ada", second, "a*.pdf"),
+                row(1L, 10L, "Ada", third, "A_.PDF"),
+                row(1L, 10L, "Ada", "submissions/gone.pdf", "gone.pdf"),
+                row(1L, 10L, "Ada", "submissions/lost.pdf", "lost.pdf"));
+        when(submissionRepository.streamFilesByAssignmentId(7L)).thenReturn(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(3, submissionExportService.writeSubmissionBundle(7L, out));
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals("%PDF-first", entries.get("Ada (10)/a_.pdf"));
+        assertEquals("%PDF-second", entries.get("Ada (10)/a_ (2).pdf"));
+        assertEquals("%PDF-third", entries.get("Ada (10)/A_ (3).PDF"));
+        assertTrue(entries.get("Ada (10)/MISSING.txt").contains("gone.pdf"));
+        assertTrue(entries.get("Ada (10)/MISSING (2).txt").contains("lost.pdf"));
+        assertEquals(5, entries.size());
+    }
+
+    @Test
+    void testWriteSubmissionBundle_RepeatedStudentFoldersNumbered() throws IOException {
+        when(storedObjectRepository.existsById(any())).thenReturn(true);
+        String file = contentStoreService.store(stream("%PDF-work"), "pdf");
+        Stream<SubmissionFileRow> rows = Stream.of(
+                row(1L, 10L, "Ada", file, "work.pdf"),
+                row(2L, 10L, "ada", file, "work.pdf"),
+                row(3L, 10L, "Ada", file, "work.pdf"),
+                row(4L, 11L, "Ada", file, "work.pdf"),
+                row(5L, 12L, "Bob", file, "work.pdf"));
+        when(submissionRepository.streamFilesByAssignmentId(7L)).thenReturn(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(5, submissionExportService.writeSubmissionBundle(7L, out));
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        assertEquals(List.of("Ada (10)/work.pdf", "ada (10) (2)/work.pdf", "Ada (10) (3)/work.pdf",
+                "Ada (11)/work.pdf", "Bob (12)/work.pdf"), names);
+    }
+
+    @Test
+    void testUniqueName_SuffixBeforeExtensionOrAtEnd() {
+        Set<String> used = new HashSet<>();
+        assertEquals("J. Smith (4)", SubmissionExportService.uniqueName(used, "J. Smith (4)", false));
+        assertEquals("J. Smith (4) (2)", SubmissionExportService.uniqueName(used, "J. Smith (4)", false));
+        assertEquals(".env", SubmissionExportService.uniqueName(used, ".env", true));
+        assertEquals(".env (2)", SubmissionExportService.uniqueName(used, ".env", true));
+    }
+
+    @Test
+    void testEntryName_SingleSafeSegment() {
+        assertEquals("a_b_c", SubmissionExportService.entryName("a/b\\c", "x"));
+        assertEquals("x", SubmissionExportService.entryName("..", "x"));
+        assertEquals("x", SubmissionExportService.entryName("  ", "x"));
+        assertEquals("Zoë", SubmissionExportService.entryName(" Zoë ", "x"));
+    }
+
+    private String export(Long assignmentId, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        submissionExportService.exportSubmissions(assignmentId, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Submission submission(Long id, String studentName) {
+        Submission submission = new Submission();
+        submission.setId(id);
+        submission.setAssignmentId(7L);
+        submission.setStudentId(10L);
+        submission.setStudentName(studentName);
+        submission.setFileName("essay.pdf");
+        return submission;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SubmissionFileRow row(Long id, Long studentId, String studentName, String fileUrl, String fileName) {
+        SubmissionFileRow row = mock(SubmissionFileRow.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getStudentId()).thenReturn(studentId);
+        lenient().when(row.getStudentName()).thenReturn(studentName);
+        lenient().when(row.getFileUrl()).thenReturn(fileUrl);
+        lenient().when(row.getFileName()).thenReturn(fileName);
+        return row;
+    }
+}
@@ -0,0 +1,442 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.client.UserServiceClient;
+import com.assignment.submissionservice.dto.CursorPage;
+import com.assignment.submissionservice.dto.GradeRequest;
+import com.assignment.submissionservice.dto.GradeResult;
+import com.assignment.submissionservice.dto.SubmissionRequest;
+import com.assignment.submissionservice.dto.SubmissionCursor;
+import com.assignment.submissionservice.dto.SubmissionSummary;
+import com.assignment.submissionservice.dto.UploadedFile;
+import com.assignment.submissionservice.dto.UserSummary;
+import com.assignment.submissionservice.entity.GradeHistogram;
+import com.assignment.submissionservice.entity.Submission;
+import com.assignment.submissionservice.entity.SubmissionFile;
+import com.assignment.submissionservice.repository.SubmissionFileRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for SubmissionService
+ * Tests business logic for submission management
+ */
+@ExtendWith(MockitoExtension.class)
+class SubmissionServiceTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private SubmissionFileRepository submissionFileRepository;
+
+    @Mock
+    private SubmissionCounterService submissionCounterService;
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Mock
+    private ContentStoreService contentStoreService;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @InjectMocks
+    private SubmissionService submissionService;
+
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(submissionService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(submissionService, "maxPageSize", 3);
+        ReflectionTestUtils.setField(submissionService, "maxGradeBatchSize", 3);
+        baseTime = LocalDateTime.of(2024, 5, 1, 9, 0);
+    }
+
+    private List<Submission> submissions(int count) {
+        List<Submission> result = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Submission submission = new Submission();
+            submission.setId((long) i);
+            submission.setAssignmentId(10L);
+            submission.setSubmittedAt(baseTime.plusMinutes(i));
+            result.add(submission);
+        }
+        return result;
+    }
+
+    @Test
+    void testFirstPage_HasMore() {
+        // Arrange - one extra row signals a further page
+        when(submissionRepository.findByAssignmentIdOrderBySubmittedAtAscIdAsc(10L, PageRequest.of(0, 3)))
+                .thenReturn(submissions(3));
+
+        // Act
+        CursorPage<Submission> page = submissionService.getSubmissionsByAssignmentPage(10L, null, null);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        SubmissionCursor cursor = SubmissionCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(baseTime.plusMinutes(2), cursor.getSubmittedAt());
+    }
+
+    @Test
+    void testNextPage_UsesCursorAndEnds() {
+        // Arrange
+        String token = new SubmissionCursor(baseTime.plusMinutes(2), 2L).encode();
+        when(submissionRepository.findByAssignmentIdAfter(
+                eq(10L), eq(baseTime.plusMinutes(2)), eq(2L), any()))
+                .thenReturn(submissions(1));
+
+        // Act
+        CursorPage<Submission> page = submissionService.getSubmissionsByAssignmentPage(10L, token, null);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(submissionRepository, never()).findByAssignmentIdOrderBySubmittedAtAscIdAsc(any(), any());
+    }
+
+    @Test
+    void testPageSize_CappedAtMaximum() {
+        // Arrange
+        when(submissionRepository.findByStudentIdOrderBySubmittedAtAscIdAsc(5L, PageRequest.of(0, 4)))
+                .thenReturn(submissions(2));
+
+        // Act
+        CursorPage<Submission> page = submissionService.getSubmissionsByStudentPage(5L, null, 1000);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void testSummaryPage_CursorFromLastSummary() {
+        // Arrange
+        List<SubmissionSummary> rows = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            rows.add(new SubmissionSummary(i, 10L, 7L, "Student", null, "work.pdf",
+                    Submission.SubmissionStatus.SUBMITTED, null, null, baseTime.plusMinutes(i), null));
+        }
+        when(submissionRepository.findSummariesByAssignmentIdOrderBySubmittedAtAscIdAsc(10L, PageRequest.of(0, 3)))
+                .thenReturn(rows);
+
+        // Act
+        CursorPage<SubmissionSummary> page = submissionService.getSubmissionSummariesByAssignmentPage(10L, null, null);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(new SubmissionCursor(baseTime.plusMinutes(2), 2L), SubmissionCursor.decode(page.getNextCursor()));
+        verify(submissionRepository, never()).findByAssignmentIdOrderBySubmittedAtAscIdAsc(any(), any());
+    }
+
+    @Test
+    void testAssignmentSummaries_CurrentStudentNamesFromOneLookup() {
+        // Arrange
+        List<SubmissionSummary> rows = List.of(
+                new SubmissionSummary(1L, 10L, 7L, "Old Name", "old@uni.edu", "a.pdf",
+                        Submission.SubmissionStatus.SUBMITTED, null, null, baseTime, null),
+                new SubmissionSummary(2L, 10L, 8L, "Unknown", "unknown@uni.edu", "b.pdf",
+                        Submission.SubmissionStatus.SUBMITTED, null, null, baseTime, null));
+        when(submissionRepository.findSummariesByAssignmentId(10L)).thenReturn(rows);
+        when(userServiceClient.getStudents(List.of(7L, 8L))).thenReturn(
+                Map.of(7L, new UserSummary(7L, "New Name", "new@uni.edu", "CS", "STUDENT", true)));
+
+        // Act
+        List<SubmissionSummary> summaries = submissionService.getSubmissionSummariesByAssignment(10L);
+
+        // Assert
+        assertEquals("New Name", summaries.get(0).studentName());
+        assertEquals("new@uni.edu", summaries.get(0).studentEmail());
+        assertEquals("Unknown", summaries.get(1).studentName());
+        verify(userServiceClient, times(1)).getStudents(any());
+    }
+
+    @Test
+    void testStudentNamesVersion_NoRowsOrUserServiceCall() {
+        when(userServiceClient.getVersion()).thenReturn("3.k2");
+
+        assertEquals("3.k2", submissionService.getStudentNamesVersion());
+        verify(userServiceClient, never()).getStudents(any());
+        verifyNoInteractions(submissionRepository);
+    }
+
+    @Test
+    void testInvalidCursor_Rejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                submissionService.getSubmissionsByAssignmentPage(10L, "not-a-cursor", null));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void testBatchGrade_ReportsPerItemResults() {
+        // Arrange - submission 99 does not exist
+        Map<Long, GradeRequest> grades = new LinkedHashMap<>();
+        grades.put(1L, new GradeRequest(90, "Good"));
+        grades.put(99L, new GradeRequest(50, "Missing"));
+        grades.put(2L, new GradeRequest(75, null));
+        List<Submission> existing = submissions(2);
+        when(submissionRepository.findAllForUpdate(grades.keySet())).thenReturn(existing);
+
+        // Act
+        List<GradeResult> results = submissionService.gradeSubmissions(grades);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(99L, results.get(1).getSubmissionId());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(90, existing.get(0).getGrade());
+        assertEquals(Submission.SubmissionStatus.GRADED, existing.get(1).getStatus());
+        assertNotNull(existing.get(1).getGradedAt());
+        verify(submissionRepository, never()).findForUpdate(any());
+        verify(submissionCounterService).apply(eq(10L), any(SubmissionCounterService.Delta.class));
+        verify(gradeStatisticsService).apply(Map.of(10L, new GradeHistogram().add(90).add(75)));
+    }
+
+    @Test
+    void testBatchGrade_TooLarge() {
+        // Arrange
+        Map<Long, GradeRequest> grades = new LinkedHashMap<>();
+        for (long i = 1; i <= 4; i++) {
+            grades.put(i, new GradeRequest(80, null));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> submissionService.gradeSubmissions(grades));
+        verify(submissionRepository, never()).findAllForUpdate(any());
+    }
+
+    private SubmissionRequest submissionRequest() {
+        return new SubmissionRequest(10L, 7L, "Test Student", "student@example.com",
+                "submissions/work.pdf", "work.pdf", null);
+    }
+
+    @Test
+    void testSubmit_SingleInsertWithoutPreRead() {
+        // Arrange
+        when(submissionRepository.saveAndFlush(any(Submission.class))).thenAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        // Act
+        Submission saved = submissionService.submitAssignment(submissionRequest());
+
+        // Assert
+        assertEquals(1L, saved.getId());
+        assertEquals(Submission.SubmissionStatus.SUBMITTED, saved.getStatus());
+        verify(submissionRepository, never()).findByAssignmentIdAndStudentId(any(), any());
+        verify(submissionCounterService).recordTransition(10L, null, Submission.SubmissionStatus.SUBMITTED);
+        verify(contentStoreService).retain("submissions/work.pdf");
+    }
+
+    @Test
+    void testSubmit_DuplicateTranslatedToAlreadySubmitted() {
+        // Arrange
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate", new SQLException("duplicate key"), "UK_SUBMISSIONS_ASSIGNMENT_STUDENT_INDEX_5");
+        when(submissionRepository.saveAndFlush(any(Submission.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate", violation));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                submissionService.submitAssignment(submissionRequest()));
+
+        assertEquals("Assignment already submitted. Use resubmit instead.", exception.getMessage());
+        verifyNoInteractions(submissionCounterService, contentStoreService);
+    }
+
+    @Test
+    void testSubmit_DuplicateOnMySqlConstraintName() {
+        // Arrange: db-init-submission-service.sql names the key unique_submission
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate", new SQLException("Duplicate entry '10-3' for key 'submissions.unique_submission'", "23000", 1062),
+                "submissions.unique_submission");
+        when(submissionRepository.saveAndFlush(any(Submission.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate", violation));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () ->
+                submissionService.submitAssignment(submissionRequest()));
+        verifyNoInteractions(submissionCounterService, contentStoreService);
+    }
+
+    @Test
+    void testSubmit_DuplicateKeyWithoutConstraintName() {
+        // Arrange
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate", new SQLException("Duplicate entry", "23000", 1062), null);
+        when(submissionRepository.saveAndFlush(any(Submission.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate", violation));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () ->
+                submissionService.submitAssignment(submissionRequest()));
+    }
+
+    @Test
+    void testSubmit_MySqlForeignKeyErrorPropagates() {
+        // Arrange: MySQL also reports 23000 for a missing parent row
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "fk", new SQLException("Cannot add or update a child row", "23000", 1452), null);
+        when(submissionRepository.saveAndFlush(any(Submission.class)))
+                .thenThrow(new DataIntegrityViolationException("fk", violation));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () ->
+                submissionService.submitAssignment(submissionRequest()));
+    }
+
+    @Test
+    void testSubmit_OtherIntegrityErrorsPropagate() {
+        // Arrange
+        when(submissionRepository.saveAndFlush(any(Submission.class)))
+                .thenThrow(new DataIntegrityViolationException("not null"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () ->
+                submissionService.submitAssignment(submissionRequest()));
+    }
+
+    @Test
+    void testGrade_MovesCounterFromPreviousStatus() {
+        // Arrange
+        Submission submission = submissions(1).get(0);
+        submission.setStatus(Submission.SubmissionStatus.RESUBMITTED);
+        when(submissionRepository.findForUpdate(1L)).thenReturn(Optional.of(submission));
+        when(submissionRepository.save(submission)).thenReturn(submission);
+
+        // Act
+        submissionService.gradeSubmission(1L, new GradeRequest(88, "Better"));
+
+        // Assert
+        verify(submissionCounterService).recordTransition(
+                10L, Submission.SubmissionStatus.RESUBMITTED, Submission.SubmissionStatus.GRADED);
+        assertEquals(Submission.SubmissionStatus.GRADED, submission.getStatus());
+        verify(gradeStatisticsService).recordGradeChange(10L, null, 88);
+    }
+
+    @Test
+    void testResubmit_RemovesPreviousGradeFromStatistics() {
+        // Arrange
+        Submission submission = submissions(1).get(0);
+        submission.setStatus(Submission.SubmissionStatus.GRADED);
+        submission.setGrade(64);
+        submission.setFileUrl("objects/old.pdf");
+        when(submissionRepository.findForUpdate(1L)).thenReturn(Optional.of(submission));
+        when(submissionRepository.save(submission)).thenReturn(submission);
+
+        // Act
+        submissionService.resubmitAssignment(1L, submissionRequest());
+
+        // Assert
+        verify(gradeStatisticsService).recordGradeChange(10L, 64, null);
+        verify(contentStoreService).release("objects/old.pdf");
+        verify(contentStoreService).retain("submissions/work.pdf");
+        assertNull(submission.getGrade());
+    }
+
+    @Test
+    void testSubmitFiles_FirstFileIsPrimaryAndEveryFileIsRetainedOnce() {
+        // Arrange
+        when(submissionRepository.saveAndFlush(any(Submission.class))).thenAnswer(invocation -> {
+            Submission saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        List<UploadedFile> files = List.of(
+                new UploadedFile("objects/aa.pdf", "report.pdf", 120),
+                new UploadedFile("objects/bb.png", "diagram.png", 80));
+
+        // Act
+        Submission saved = submissionService.submitAssignment(submissionRequest(), files);
+
+        // Assert
+        assertEquals("objects/aa.pdf", saved.getFileUrl());
+        assertEquals("report.pdf", saved.getFileName());
+        verify(contentStoreService).retain("objects/aa.pdf");
+        verify(contentStoreService).retain("objects/bb.png");
+        verify(submissionFileRepository).saveAll(argThat(entries -> {
+            List<SubmissionFile> list = new ArrayList<>();
+            entries.forEach(list::add);
+            return list.size() == 2 && list.get(1).getPosition() == 1
+                    && list.get(1).getSubmissionId() == 1L && "diagram.png".equals(list.get(1).getFileName());
+        }));
+    }
+
+    @Test
+    void testResubmit_SingleFileReleasesPreviousFileSet() {
+        // Arrange
+        Submission submission = submissions(1).get(0);
+        submission.setFileUrl("objects/aa.pdf");
+        when(submissionRepository.findForUpdate(1L)).thenReturn(Optional.of(submission));
+        when(submissionRepository.save(submission)).thenReturn(submission);
+        when(submissionFileRepository.findBySubmissionIdOrderByPositionAsc(1L)).thenReturn(List.of(
+                new SubmissionFile(1L, 0, "objects/aa.pdf", "report.pdf", 120),
+                new SubmissionFile(1L, 1, "objects/bb.png", "diagram.png", 80)));
+
+        // Act
+        submissionService.resubmitAssignment(1L, submissionRequest());
+
+        // Assert
+        verify(contentStoreService).release("objects/aa.pdf");
+        verify(contentStoreService).release("objects/bb.png");
+        verify(contentStoreService).retain("submissions/work.pdf");
+        verify(submissionFileRepository).deleteBySubmissionId(1L);
+        assertEquals("submissions/work.pdf", submission.getFileUrl());
+    }
+
+    @Test
+    void testResubmitFiles_ReleasesSingleFileAndRetainsEachNewFileOnce() {
+        // Arrange
+        Submission submission = submissions(1).get(0);
+        submission.setFileUrl("objects/old.pdf");
+        when(submissionRepository.findForUpdate(1L)).thenReturn(Optional.of(submission));
+        when(submissionRepository.save(submission)).thenReturn(submission);
+        List<UploadedFile> files = List.of(
+                new UploadedFile("objects/aa.pdf", "report.pdf", 120),
+                new UploadedFile("objects/bb.png", "diagram.png", 80));
+
+        // Act
+        submissionService.resubmitAssignment(1L, submissionRequest(), files);
+
+        // Assert
+        verify(contentStoreService).release("objects/old.pdf");
+        verify(contentStoreService).retain("objects/aa.pdf");
+        verify(contentStoreService).retain("objects/bb.png");
+        verifyNoMoreInteractions(contentStoreService);
+        assertEquals("objects/aa.pdf", submission.getFileUrl());
+    }
+}
@@ -0,0 +1,97 @@
+package com.assignment.submissionservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for UploadContentInspector
+ * Tests signature checks and streamed ZIP inspection, with bytes pushed in arbitrary pieces
+ */
+class UploadContentInspectorTest {
+
+    private final UploadContentInspector inspector = new UploadContentInspector(50, 100, DataSize.ofMegabytes(64));
+
+    @Test
+    void testSignatures_MustMatchExtension() {
+        inspect("pdf", "%PDF-1.7 body".getBytes(StandardCharsets.US_ASCII), 3);
+        inspect("png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0}, 1);
+        inspect("txt", "plain notes\n".getBytes(StandardCharsets.US_ASCII), 4);
+
+        assertRejected("pdf", "MZ executable".getBytes(StandardCharsets.US_ASCII));
+        assertRejected("jpg", "%PDF".getBytes(StandardCharsets.US_ASCII));
+        assertRejected("txt", new byte[]{'a', 0, 'b'});
+        assertRejected("pdf", new byte[0]);
+    }
+
+    @Test
+    void testZip_OrdinaryArchivesAccepted() throws IOException {
+        byte[] text = "Report text. ".repeat(2000).getBytes(StandardCharsets.UTF_8);
+        byte[] archive = zip(3, text, ZipEntry.DEFLATED);
+
+        inspect("zip", archive, 1);
+        inspect("docx", archive, 7);
+        inspect("zip", zip(2, text, ZipEntry.STORED), 4096);
+        inspect("zip", zip(0, text, ZipEntry.DEFLATED), 5);
+    }
+
+    @Test
+    void testZip_BombsRejected() throws IOException {
+        // 16MB of zeros deflates about a thousandfold
+        byte[] zeros = new byte[16 * 1024 * 1024];
+        IllegalArgumentException ratio = assertRejected("zip", zip(1, zeros, ZipEntry.DEFLATED));
+        assertTrue(ratio.getMessage().contains("ratio"));
+
+        IllegalArgumentException entries = assertRejected("zip", zip(51, new byte[1], ZipEntry.DEFLATED));
+        assertTrue(entries.getMessage().contains("entries"));
+    }
+
+    @Test
+    void testZip_MalformedArchivesRejected() throws IOException {
+        byte[] archive = zip(2, "content".getBytes(StandardCharsets.UTF_8), ZipEntry.DEFLATED);
+
+        assertRejected("zip", Arrays.copyOf(archive, archive.length - 30));
+        assertRejected("docx", "PK\3\4 not really".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void inspect(String extension, byte[] content, int pieceSize) {
+        UploadContentInspector.Inspection inspection = inspector.start(extension);
+        for (int offset = 0; offset < content.length; offset += pieceSize) {
+            inspection.update(content, offset, Math.min(pieceSize, content.length - offset));
+        }
+        inspection.finish();
+    }
+
+    private IllegalArgumentException assertRejected(String extension, byte[] content) {
+        return assertThrows(IllegalArgumentException.class, () -> inspect(extension, content, 8192));
+    }
+
+    private static byte[] zip(int entries, byte[] content, int method) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries; i++) {
+                ZipEntry entry = new ZipEntry("part-" + i + ".txt");
+                entry.setMethod(method);
+                if (method == ZipEntry.STORED) {
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                zip.write(content);
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
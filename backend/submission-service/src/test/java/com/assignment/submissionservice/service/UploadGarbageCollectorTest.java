@@ -0,0 +1,173 @@
+package com.assignment.submissionservice.service;
+
+import com.assignment.submissionservice.repository.AssignmentRepository;
+import com.assignment.submissionservice.repository.StoredObjectRepository;
+import com.assignment.submissionservice.repository.SubmissionFileRepository;
+import com.assignment.submissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for UploadGarbageCollector
+ * Tests reference checks, the grace period, uploads racing a delete and resuming a sweep across runs
+ */
+@ExtendWith(MockitoExtension.class)
+class UploadGarbageCollectorTest {
+
+    private static final String DIGEST = "0a4a5b9ae5d6dc9d5ea7b9da0446e3a4e1d1c0a01c6e7fce4b1ee1a1a6cc3f5f";
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private SubmissionFileRepository submissionFileRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadLayout uploadLayout;
+    private ContentStoreService contentStoreService;
+
+    @BeforeEach
+    void setUp() {
+        uploadLayout = new UploadLayout(uploadDir.toString());
+        contentStoreService = new ContentStoreService(storedObjectRepository, uploadLayout,
+                new UploadContentInspector(100, 100, DataSize.ofMegabytes(100)));
+    }
+
+    @Test
+    void testCollect_DeletesOnlyOldUnreferencedFiles() throws IOException {
+        String replaced = "objects/" + DIGEST + ".pdf";
+        String submitted = "submissions/20240501_120000_abcd1234.pdf";
+        String attachment = "assignments/20240101_090000_ffff0000.pdf";
+        String fresh = "submissions/20240601_120000_0000ffff.pdf";
+        write(replaced, "old version", Duration.ofDays(3));
+        write(submitted, "current", Duration.ofDays(3));
+        write(attachment, "brief", Duration.ofDays(3));
+        write(fresh, "just uploaded", Duration.ZERO);
+        when(submissionRepository.findFileUrlsIn(anyCollection())).thenReturn(List.of(submitted));
+        when(assignmentRepository.findAttachmentUrlsIn(anyCollection())).thenReturn(List.of(attachment));
+
+        UploadGarbageCollector.Result result = collector(100).collect();
+
+        assertEquals(4, result.scanned());
+        assertEquals(1, result.deleted());
+        assertEquals("old version".length(), result.reclaimedBytes());
+        assertTrue(result.sweepCompleted());
+        assertFalse(Files.exists(uploadLayout.locate(replaced)));
+        assertTrue(Files.exists(uploadLayout.locate(submitted)));
+        assertTrue(Files.exists(uploadLayout.locate(attachment)));
+        assertTrue(Files.exists(uploadLayout.locate(fresh)));
+        verify(storedObjectRepository).deleteById(DIGEST + ".pdf");
+    }
+
+    @Test
+    void testCollect_ResumesWhereLastRunStopped() throws IOException {
+        write("objects/" + DIGEST + ".pdf", "a", Duration.ofDays(3));
+        write("objects/" + DIGEST.replace('0', '1') + ".pdf", "b", Duration.ofDays(3));
+        write("objects/" + DIGEST.replace('0', '2') + ".pdf", "c", Duration.ofDays(3));
+        when(submissionRepository.findFileUrlsIn(anyCollection())).thenAnswer(invocation ->
+                List.copyOf(invocation.<Collection<String>>getArgument(0)));
+        when(assignmentRepository.findAttachmentUrlsIn(anyCollection())).thenReturn(List.of());
+        UploadGarbageCollector collector = collector(1);
+
+        assertFalse(collector.collect().sweepCompleted());
+        assertFalse(collector.collect().sweepCompleted());
+        assertEquals(1, collector.collect().scanned());
+        UploadGarbageCollector.Result end = collector.collect();
+        assertEquals(0, end.scanned());
+        assertTrue(end.sweepCompleted());
+        assertEquals(1, collector.collect().scanned());
+        verify(submissionRepository, times(4)).findFileUrlsIn(anyCollection());
+        verify(storedObjectRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void testCollect_CountedObjectsSkipTableLookups() throws IOException {
+        String shared = "objects/" + DIGEST + ".pdf";
+        String released = "objects/" + DIGEST.replace('0', '1') + ".pdf";
+        write(shared, "still used", Duration.ofDays(3));
+        write(released, "no longer used", Duration.ofDays(3));
+        when(storedObjectRepository.findReferencedKeysIn(anyCollection())).thenReturn(List.of(DIGEST + ".pdf"));
+        List<String> checked = new ArrayList<>();
+        when(submissionRepository.findFileUrlsIn(anyCollection())).thenAnswer(invocation -> {
+            checked.addAll(invocation.<Collection<String>>getArgument(0));
+            return List.of();
+        });
+
+        UploadGarbageCollector.Result result = collector(100).collect();
+
+        assertEquals(1, result.deleted());
+        assertTrue(Files.exists(uploadLayout.locate(shared)));
+        assertFalse(Files.exists(uploadLayout.locate(released)));
+        // Only the object whose count reached zero is checked against the tables
+        assertEquals(List.of(released), checked);
+        verify(storedObjectRepository).deleteById(DIGEST.replace('0', '1') + ".pdf");
+    }
+
+    @Test
+    void testCollect_UploadBetweenCheckAndDeleteKeepsObject() throws IOException {
+        byte[] bytes = "%PDF-shared".getBytes(StandardCharsets.UTF_8);
+        String shared = contentStoreService.store(new ByteArrayInputStream(bytes), "pdf");
+        Path file = uploadLayout.locate(shared);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(3))));
+        when(submissionRepository.findFileUrlsIn(anyCollection())).thenReturn(List.of());
+        // The same bytes are uploaded after the collector's age check, just before it removes the file
+        ContentStoreService racing = spy(contentStoreService);
+        doAnswer(invocation -> {
+            contentStoreService.store(new ByteArrayInputStream(bytes), "pdf");
+            return invocation.callRealMethod();
+        }).when(racing).stagingPath(startsWith("collect-"));
+
+        UploadGarbageCollector.Result result = collector(100, racing).collect();
+
+        assertEquals(0, result.deleted());
+        assertArrayEquals(bytes, Files.readAllBytes(uploadLayout.locate(shared)));
+        verify(storedObjectRepository, never()).deleteById(any());
+    }
+
+    private UploadGarbageCollector collector(int filesPerRun) {
+        return collector(filesPerRun, contentStoreService);
+    }
+
+    private UploadGarbageCollector collector(int filesPerRun, ContentStoreService store) {
+        return new UploadGarbageCollector(uploadLayout, submissionRepository, submissionFileRepository,
+                assignmentRepository, storedObjectRepository, store, Duration.ofHours(24), filesPerRun, 2);
+    }
+
+    private void write(String relativePath, String content, Duration age) throws IOException {
+        Path path = uploadLayout.shardedPath(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+    }
+}
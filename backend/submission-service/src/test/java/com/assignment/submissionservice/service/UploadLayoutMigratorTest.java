@@ -0,0 +1,75 @@
+package com.assignment.submissionservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for UploadLayoutMigrator
+ * Tests moving flat files into shard directories and resolving paths in both layouts
+ */
+class UploadLayoutMigratorTest {
+
+    private static final String LEGACY = "submissions/20240501_120000_abcd1234.pdf";
+    private static final String OBJECT = "objects/9fd8a1c0b2e34f5d6a7b8c9d0e1f2a3b4c5d6e7f8a9b0c1d2e3f4a5b6c7d8e9f.zip";
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadLayout uploadLayout;
+    private UploadLayoutMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        uploadLayout = new UploadLayout(uploadDir.toString());
+        migrator = new UploadLayoutMigrator(uploadLayout, 2);
+    }
+
+    @Test
+    void testShardedPath_TwoHexLevels() {
+        Path object = uploadLayout.shardedPath(OBJECT);
+        assertEquals(uploadDir.resolve("objects/9f/d8").resolve(object.getFileName()), object);
+
+        Path legacy = uploadDir.relativize(uploadLayout.shardedPath(LEGACY));
+        assertEquals(4, legacy.getNameCount());
+        assertTrue(legacy.getName(1).toString().matches("[0-9a-f]{2}"));
+        assertTrue(legacy.getName(2).toString().matches("[0-9a-f]{2}"));
+    }
+
+    @Test
+    void testMigrate_MovesFlatFilesInBatches() throws IOException {
+        write(uploadLayout.flatPath(LEGACY), "legacy");
+        write(uploadLayout.flatPath(OBJECT), "object");
+        write(uploadLayout.flatPath("assignments/20240101_090000_ffff0000.pdf"), "brief");
+        write(uploadDir.resolve(".partial/session.part"), "staged");
+        assertEquals(uploadLayout.flatPath(LEGACY), uploadLayout.locate(LEGACY));
+
+        assertEquals(2, migrator.migrate());
+        assertEquals(1, migrator.migrate());
+        assertEquals(0, migrator.migrate());
+
+        assertEquals(uploadLayout.shardedPath(LEGACY), uploadLayout.locate(LEGACY));
+        assertEquals("legacy", Files.readString(uploadLayout.locate(LEGACY)));
+        assertEquals("object", Files.readString(uploadLayout.locate(OBJECT)));
+        assertFalse(Files.exists(uploadLayout.flatPath(OBJECT)));
+        assertTrue(Files.exists(uploadDir.resolve(".partial/session.part")));
+    }
+
+    @Test
+    void testMigrate_MissingUploadDirectory() {
+        UploadLayoutMigrator empty = new UploadLayoutMigrator(new UploadLayout(uploadDir.resolve("none").toString()), 10);
+
+        assertEquals(0, empty.migrate());
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
@@ -4,9 +4,11 @@ import com.assignment.userservice.dto.AuthResponse;
 import com.assignment.userservice.dto.LoginRequest;
 import com.assignment.userservice.dto.RegisterRequest;
 import com.assignment.userservice.service.AuthService;
+import com.assignment.userservice.service.PasswordHashingService.HashingBusyException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,6 +31,9 @@ public class AuthController {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (HashingBusyException e) {
+            log.warn("Registration rejected: {}", e.getMessage());
+            return tooManyRequests(e);
         } catch (Exception e) {
             log.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
@@ -40,6 +45,9 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (HashingBusyException e) {
+            log.warn("Login rejected: {}", e.getMessage());
+            return tooManyRequests(e);
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -52,6 +60,12 @@ public class AuthController {
         return ResponseEntity.ok("User Service is running!");
     }
 
+    private ResponseEntity<ErrorResponse> tooManyRequests(HashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
     // Error Response DTO
     record ErrorResponse(String message) {}
 }
@@ -0,0 +1,76 @@
+package com.assignment.userservice.controller;
+
+import com.assignment.userservice.dto.ImportReport;
+import com.assignment.userservice.dto.RegisterRequest;
+import com.assignment.userservice.dto.UserBatchRequest;
+import com.assignment.userservice.service.PasswordHashingService.HashingBusyException;
+import com.assignment.userservice.service.RosterImportService;
+import com.assignment.userservice.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * User Controller - Presentation Layer
+ * Handles HTTP requests for bulk account import and lookup
+ */
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class UserController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final RosterImportService rosterImportService;
+    private final UserService userService;
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> findUsers(@RequestBody UserBatchRequest request) {
+        try {
+            return ResponseEntity.ok(userService.findUsers(request));
+        } catch (IllegalArgumentException e) {
+            log.error("Batch user lookup rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importJson(@RequestBody List<RegisterRequest> accounts) {
+        return runImport(() -> rosterImportService.importAccounts(accounts));
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV)
+    public ResponseEntity<?> importCsv(@RequestBody String csv) {
+        return runImport(() -> rosterImportService.importCsv(csv));
+    }
+
+    private ResponseEntity<?> runImport(Supplier<ImportReport> importer) {
+        try {
+            return ResponseEntity.ok(importer.get());
+        } catch (IllegalArgumentException e) {
+            log.error("Roster import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (HashingBusyException e) {
+            log.warn("Roster import rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Roster import failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Roster import failed"));
+        }
+    }
+
+    // Error Response DTO
+    record ErrorResponse(String message) {}
+}
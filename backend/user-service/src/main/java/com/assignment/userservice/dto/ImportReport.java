@@ -0,0 +1,33 @@
+package com.assignment.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Import Report DTO
+ * Outcome of a bulk roster import, with one entry per input row
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+
+    private int total;
+    private int created;
+    private int skipped;
+    private long elapsedMillis;
+    private List<Row> rows;
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE, FAILED
+    }
+
+    /**
+     * Row numbers start at 1 for the first data row (the CSV header is not counted)
+     */
+    public record Row(int row, String email, String role, Status status, Long accountId, String message) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.assignment.userservice.dto;
+
+import com.assignment.userservice.entity.AccountIdentity;
+import com.assignment.userservice.entity.Faculty;
+import com.assignment.userservice.entity.Student;
+
+/**
+ * Account resolved from its identity row in one query
+ * Exactly one of student and faculty is set when the identity points at an existing account
+ */
+public record ResolvedAccount(AccountIdentity identity, Student student, Faculty faculty) {
+}
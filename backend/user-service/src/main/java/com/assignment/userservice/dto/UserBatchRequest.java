@@ -0,0 +1,19 @@
+package com.assignment.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch User Lookup Request DTO
+ * Student and faculty ids are separate sequences, so each list is resolved against its own table
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+    private List<Long> studentIds;
+    private List<Long> facultyIds;
+}
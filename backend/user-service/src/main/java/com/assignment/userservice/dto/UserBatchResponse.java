@@ -0,0 +1,19 @@
+package com.assignment.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch User Lookup Response DTO
+ * Unknown ids are omitted
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponse {
+    private List<UserSummary> students;
+    private List<UserSummary> faculty;
+}
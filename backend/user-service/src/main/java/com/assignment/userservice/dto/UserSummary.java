@@ -0,0 +1,9 @@
+package com.assignment.userservice.dto;
+
+import com.assignment.userservice.entity.Student;
+
+/**
+ * Public profile of a student or faculty account, without the password hash
+ */
+public record UserSummary(Long id, String name, String email, String department, Student.Role role, Boolean active) {
+}
@@ -0,0 +1,69 @@
+package com.assignment.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Account Identity Entity - Data Layer
+ * One row per account across the students and faculty tables, keyed by normalized email
+ * The primary key enforces email uniqueness across both tables
+ */
+@Entity
+@Table(name = "account_identities", indexes = {
+        @Index(name = "idx_account_identity_account", columnList = "role, account_id")
+})
+@Data
+@NoArgsConstructor
+public class AccountIdentity implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Student.Role role;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Assigned ids would make save() merge with a select first; new rows are persisted directly
+    @Transient
+    private boolean isNew = true;
+
+    public AccountIdentity(String email, Student.Role role, Long accountId) {
+        this.email = normalize(email);
+        this.role = role;
+        this.accountId = accountId;
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String getId() {
+        return email;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.assignment.userservice.repository;
+
+import com.assignment.userservice.dto.ResolvedAccount;
+import com.assignment.userservice.entity.AccountIdentity;
+import com.assignment.userservice.entity.Faculty;
+import com.assignment.userservice.entity.Student;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Account Identity Repository - Data Layer
+ * Resolves an email to its student or faculty account through the identity primary key
+ */
+@Repository
+public interface AccountIdentityRepository extends JpaRepository<AccountIdentity, String> {
+
+    @Query("SELECT new com.assignment.userservice.dto.ResolvedAccount(i, s, f) FROM AccountIdentity i " +
+            "LEFT JOIN Student s ON i.role = com.assignment.userservice.entity.Student$Role.STUDENT AND s.id = i.accountId " +
+            "LEFT JOIN Faculty f ON i.role = com.assignment.userservice.entity.Student$Role.FACULTY AND f.id = i.accountId " +
+            "WHERE i.email = :email")
+    Optional<ResolvedAccount> resolve(@Param("email") String normalizedEmail);
+
+    @Query("SELECT i.email FROM AccountIdentity i WHERE i.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> normalizedEmails);
+
+    // Accounts created before the identity table existed
+
+    @Query("SELECT s FROM Student s WHERE NOT EXISTS (SELECT i FROM AccountIdentity i " +
+            "WHERE i.role = com.assignment.userservice.entity.Student$Role.STUDENT AND i.accountId = s.id) ORDER BY s.id")
+    List<Student> findStudentsWithoutIdentity();
+
+    @Query("SELECT f FROM Faculty f WHERE NOT EXISTS (SELECT i FROM AccountIdentity i " +
+            "WHERE i.role = com.assignment.userservice.entity.Student$Role.FACULTY AND i.accountId = f.id) ORDER BY f.id")
+    List<Faculty> findFacultyWithoutIdentity();
+}
@@ -1,9 +1,13 @@
 package com.assignment.userservice.repository;
 
+import com.assignment.userservice.dto.UserSummary;
 import com.assignment.userservice.entity.Faculty;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +25,8 @@ public interface FacultyRepository extends JpaRepository<Faculty, Long> {
     Boolean existsByEmail(String email);
     
     List<Faculty> findByActive(Boolean active);
+
+    @Query("SELECT new com.assignment.userservice.dto.UserSummary(f.id, f.name, f.email, f.department, " +
+            "f.role, f.active) FROM Faculty f WHERE f.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
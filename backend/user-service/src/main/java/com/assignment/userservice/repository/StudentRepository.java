@@ -1,9 +1,13 @@
 package com.assignment.userservice.repository;
 
+import com.assignment.userservice.dto.UserSummary;
 import com.assignment.userservice.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +25,8 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Boolean existsByEmail(String email);
     
     List<Student> findByActive(Boolean active);
+
+    @Query("SELECT new com.assignment.userservice.dto.UserSummary(s.id, s.name, s.email, s.department, " +
+            "s.role, s.active) FROM Student s WHERE s.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
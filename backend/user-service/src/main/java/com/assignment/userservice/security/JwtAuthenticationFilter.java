@@ -0,0 +1,66 @@
+package com.assignment.userservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JWT Authentication Filter
+ * Authenticates a request from its Bearer token, with the token's role as ROLE_<role>, or from the
+ * shared service token other services send in X-Service-Token, as ROLE_SERVICE. Requests with
+ * neither stay anonymous and are left to the authorization rules.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final byte[] serviceToken;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, String serviceToken) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.serviceToken = serviceToken == null ? new byte[0] : serviceToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String service = request.getHeader(SERVICE_TOKEN_HEADER);
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (service != null && isServiceToken(service)) {
+            authenticate("service", SERVICE_ROLE);
+        } else if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            jwtTokenProvider.verify(authorization.substring(BEARER_PREFIX.length()))
+                    .filter(principal -> principal.role() != null)
+                    .ifPresent(principal -> authenticate(principal, principal.role().toUpperCase(Locale.ROOT)));
+        }
+        chain.doFilter(request, response);
+    }
+
+    // An unset service token never matches, so the credential is off until it is configured
+    private boolean isServiceToken(String presented) {
+        return serviceToken.length > 0
+                && MessageDigest.isEqual(serviceToken, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void authenticate(Object principal, String role) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -0,0 +1,95 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.dto.ResolvedAccount;
+import com.assignment.userservice.entity.AccountIdentity;
+import com.assignment.userservice.entity.Faculty;
+import com.assignment.userservice.entity.Student;
+import com.assignment.userservice.repository.AccountIdentityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Account Identity Service - Business Layer
+ * Maintains the email to account index shared by the students and faculty tables
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AccountIdentityService {
+
+    private final AccountIdentityRepository accountIdentityRepository;
+
+    public boolean isTaken(String email) {
+        return accountIdentityRepository.existsById(AccountIdentity.normalize(email));
+    }
+
+    /**
+     * Identity row plus the student or faculty it points at, in a single primary-key lookup
+     */
+    public Optional<ResolvedAccount> resolve(String email) {
+        return accountIdentityRepository.resolve(AccountIdentity.normalize(email));
+    }
+
+    /**
+     * Claims the email for a newly inserted account inside the caller's transaction
+     * The insert is flushed immediately so a concurrent registration of the same email fails here
+     * and rolls the account insert back with it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void link(String email, Student.Role role, Long accountId) {
+        try {
+            accountIdentityRepository.saveAndFlush(new AccountIdentity(email, role, accountId));
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Email already exists");
+        }
+    }
+
+    /**
+     * Adds identity rows for accounts that predate the identity table
+     * Emails already claimed by another account are skipped and logged for manual cleanup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        Set<String> claimed = new HashSet<>();
+        int linked = 0;
+        int conflicts = 0;
+        for (Student student : accountIdentityRepository.findStudentsWithoutIdentity()) {
+            if (claim(claimed, student.getEmail(), Student.Role.STUDENT, student.getId())) {
+                linked++;
+            } else {
+                conflicts++;
+            }
+        }
+        for (Faculty faculty : accountIdentityRepository.findFacultyWithoutIdentity()) {
+            if (claim(claimed, faculty.getEmail(), Student.Role.FACULTY, faculty.getId())) {
+                linked++;
+            } else {
+                conflicts++;
+            }
+        }
+        if (linked > 0 || conflicts > 0) {
+            log.info("Account identity backfill: {} linked, {} conflicting emails skipped", linked, conflicts);
+        }
+    }
+
+    private boolean claim(Set<String> claimed, String email, Student.Role role, Long accountId) {
+        String normalized = AccountIdentity.normalize(email);
+        if (!claimed.add(normalized) || accountIdentityRepository.existsById(normalized)) {
+            log.warn("Email {} of {} {} is already used by another account", normalized, role, accountId);
+            return false;
+        }
+        accountIdentityRepository.save(new AccountIdentity(email, role, accountId));
+        return true;
+    }
+}
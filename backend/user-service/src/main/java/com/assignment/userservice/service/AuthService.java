@@ -3,6 +3,7 @@ package com.assignment.userservice.service;
 import com.assignment.userservice.dto.AuthResponse;
 import com.assignment.userservice.dto.LoginRequest;
 import com.assignment.userservice.dto.RegisterRequest;
+import com.assignment.userservice.dto.ResolvedAccount;
 import com.assignment.userservice.entity.Faculty;
 import com.assignment.userservice.entity.Student;
 import com.assignment.userservice.repository.FacultyRepository;
@@ -10,9 +11,10 @@ import com.assignment.userservice.repository.StudentRepository;
 import com.assignment.userservice.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
 
 /**
  * Auth Service - Business Layer
@@ -25,102 +27,109 @@ public class AuthService {
 
     private final StudentRepository studentRepository;
     private final FacultyRepository facultyRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AccountIdentityService accountIdentityService;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
-        // Check if email already exists
-        if (studentRepository.existsByEmail(request.getEmail()) ||
-                facultyRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
+        String role = request.getRole().toLowerCase();
+        if (!"student".equals(role) && !"faculty".equals(role)) {
+            throw new RuntimeException("Invalid role. Must be 'student' or 'faculty'");
         }
 
-        String role = request.getRole().toLowerCase();
-        String token;
-        String name = request.getName();
+        // Hashing happens before the transaction so no connection is held while BCrypt runs
+        String password = passwordHashingService.encode(request.getPassword());
+        String email = transactionTemplate.execute(status -> insert(request, role, password));
+
+        String token = jwtTokenProvider.generateToken(email, role.toUpperCase());
+        log.info("New {} registered: {}", role, email);
+
+        return AuthResponse.builder()
+                .token(token)
+                .email(request.getEmail())
+                .name(request.getName())
+                .role(role.toUpperCase())
+                .message("Registration successful")
+                .build();
+    }
+
+    private String insert(RegisterRequest request, String role, String password) {
+        // Check if email already exists in either table
+        if (accountIdentityService.isTaken(request.getEmail())) {
+            throw new RuntimeException("Email already exists");
+        }
 
         if ("student".equals(role)) {
             Student student = new Student();
             student.setName(request.getName());
             student.setEmail(request.getEmail());
-            student.setPassword(passwordEncoder.encode(request.getPassword()));
+            student.setPassword(password);
             student.setDepartment(request.getDepartment());
             student.setRole(Student.Role.STUDENT);
             student.setActive(true);
 
             student = studentRepository.save(student);
-            token = jwtTokenProvider.generateToken(student.getEmail(), "STUDENT");
-            log.info("New student registered: {}", student.getEmail());
-
-        } else if ("faculty".equals(role)) {
-            Faculty faculty = new Faculty();
-            faculty.setName(request.getName());
-            faculty.setEmail(request.getEmail());
-            faculty.setPassword(passwordEncoder.encode(request.getPassword()));
-            faculty.setDepartment(request.getDepartment());
-            faculty.setRole(Student.Role.FACULTY);
-            faculty.setActive(true);
-
-            faculty = facultyRepository.save(faculty);
-            token = jwtTokenProvider.generateToken(faculty.getEmail(), "FACULTY");
-            log.info("New faculty registered: {}", faculty.getEmail());
-
-        } else {
-            throw new RuntimeException("Invalid role. Must be 'student' or 'faculty'");
+            accountIdentityService.link(student.getEmail(), Student.Role.STUDENT, student.getId());
+            return student.getEmail();
         }
 
-        return AuthResponse.builder()
-                .token(token)
-                .email(request.getEmail())
-                .name(name)
-                .role(role.toUpperCase())
-                .message("Registration successful")
-                .build();
+        Faculty faculty = new Faculty();
+        faculty.setName(request.getName());
+        faculty.setEmail(request.getEmail());
+        faculty.setPassword(password);
+        faculty.setDepartment(request.getDepartment());
+        faculty.setRole(Student.Role.FACULTY);
+        faculty.setActive(true);
+
+        faculty = facultyRepository.save(faculty);
+        accountIdentityService.link(faculty.getEmail(), Student.Role.FACULTY, faculty.getId());
+        return faculty.getEmail();
     }
 
     public AuthResponse login(LoginRequest request) {
-        String email = request.getEmail();
         String password = request.getPassword();
 
-        // Try to find as student first
-        var student = studentRepository.findByEmail(email);
+        // Resolve the account through the identity index in one lookup
+        ResolvedAccount account = accountIdentityService.resolve(request.getEmail())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        var student = Optional.ofNullable(account.student());
         if (student.isPresent()) {
             if (!student.get().getActive()) {
                 throw new RuntimeException("Account is deactivated");
             }
-            if (!passwordEncoder.matches(password, student.get().getPassword())) {
+            if (!passwordHashingService.matches(password, student.get().getPassword())) {
                 throw new RuntimeException("Invalid credentials");
             }
 
-            String token = jwtTokenProvider.generateToken(email, "STUDENT");
-            log.info("Student logged in: {}", email);
+            String token = jwtTokenProvider.generateToken(student.get().getEmail(), "STUDENT");
+            log.info("Student logged in: {}", student.get().getEmail());
 
             return AuthResponse.builder()
                     .token(token)
-                    .email(email)
+                    .email(student.get().getEmail())
                     .name(student.get().getName())
                     .role("STUDENT")
                     .message("Login successful")
                     .build();
         }
 
-        // Try to find as faculty
-        var faculty = facultyRepository.findByEmail(email);
+        var faculty = Optional.ofNullable(account.faculty());
         if (faculty.isPresent()) {
             if (!faculty.get().getActive()) {
                 throw new RuntimeException("Account is deactivated");
             }
-            if (!passwordEncoder.matches(password, faculty.get().getPassword())) {
+            if (!passwordHashingService.matches(password, faculty.get().getPassword())) {
                 throw new RuntimeException("Invalid credentials");
             }
 
-            String token = jwtTokenProvider.generateToken(email, "FACULTY");
-            log.info("Faculty logged in: {}", email);
+            String token = jwtTokenProvider.generateToken(faculty.get().getEmail(), "FACULTY");
+            log.info("Faculty logged in: {}", faculty.get().getEmail());
 
             return AuthResponse.builder()
                     .token(token)
-                    .email(email)
+                    .email(faculty.get().getEmail())
                     .name(faculty.get().getName())
                     .role("FACULTY")
                     .message("Login successful")
@@ -0,0 +1,296 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.dto.ImportReport;
+import com.assignment.userservice.dto.RegisterRequest;
+import com.assignment.userservice.entity.AccountIdentity;
+import com.assignment.userservice.entity.Student;
+import com.assignment.userservice.repository.AccountIdentityRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Roster Import Service - Business Layer
+ * Creates many student and faculty accounts at once: rows are validated and de-duplicated in
+ * memory against one existence query, passwords are hashed in parallel outside the transaction,
+ * and accounts plus identity rows are written with JDBC batch inserts
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RosterImportService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final int ID_LOOKUP_CHUNK = 1000;
+    private static final List<String> CSV_COLUMNS = List.of("name", "email", "password", "department", "role");
+
+    private final AccountIdentityRepository accountIdentityRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${auth.import.max-rows:10000}")
+    private int maxRows;
+
+    private record Pending(int index, RegisterRequest request, Student.Role role, String normalizedEmail) {
+    }
+
+    public ImportReport importCsv(String csv) {
+        return importAccounts(parseCsv(csv));
+    }
+
+    public ImportReport importAccounts(List<RegisterRequest> requests) {
+        long started = System.currentTimeMillis();
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("No accounts to import");
+        }
+        if (requests.size() > maxRows) {
+            throw new IllegalArgumentException("Import is limited to " + maxRows + " rows per request");
+        }
+
+        ImportReport.Row[] rows = new ImportReport.Row[requests.size()];
+        List<Pending> pending = new ArrayList<>();
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RegisterRequest request = requests.get(i);
+            String invalid = validate(request);
+            if (invalid != null) {
+                rows[i] = reject(i, request, ImportReport.Status.INVALID, invalid);
+                continue;
+            }
+            String normalized = AccountIdentity.normalize(request.getEmail());
+            Integer firstRow = firstRowByEmail.putIfAbsent(normalized, i + 1);
+            if (firstRow != null) {
+                rows[i] = reject(i, request, ImportReport.Status.DUPLICATE, "Duplicate of row " + firstRow);
+                continue;
+            }
+            Student.Role role = "faculty".equals(request.getRole().trim().toLowerCase(Locale.ROOT))
+                    ? Student.Role.FACULTY : Student.Role.STUDENT;
+            pending.add(new Pending(i, request, role, normalized));
+        }
+
+        // One existence query for every remaining email
+        if (!pending.isEmpty()) {
+            Set<String> existing = new HashSet<>(accountIdentityRepository.findExistingEmails(
+                    pending.stream().map(Pending::normalizedEmail).toList()));
+            List<Pending> fresh = new ArrayList<>(pending.size());
+            for (Pending p : pending) {
+                if (existing.contains(p.normalizedEmail())) {
+                    rows[p.index()] = reject(p.index(), p.request(), ImportReport.Status.DUPLICATE, "Email already exists");
+                } else {
+                    fresh.add(p);
+                }
+            }
+            pending = fresh;
+        }
+
+        if (!pending.isEmpty()) {
+            // Hashing happens before the transaction so no connection is held while BCrypt runs
+            List<String> hashes = passwordHashingService.encodeAll(
+                    pending.stream().map(p -> p.request().getPassword()).toList());
+            List<Pending> toInsert = pending;
+            try {
+                Map<String, Long> ids = transactionTemplate.execute(status -> insert(toInsert, hashes));
+                for (Pending p : toInsert) {
+                    rows[p.index()] = new ImportReport.Row(p.index() + 1, p.request().getEmail(), p.role().name(),
+                            ImportReport.Status.CREATED, ids.get(p.normalizedEmail()), null);
+                }
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Roster import rolled back: {}", e.getMostSpecificCause().getMessage());
+                for (Pending p : toInsert) {
+                    rows[p.index()] = reject(p.index(), p.request(), ImportReport.Status.FAILED,
+                            "An email was registered during the import; no rows were imported, please retry");
+                }
+            }
+        }
+
+        List<ImportReport.Row> report = List.of(rows);
+        int created = (int) report.stream().filter(row -> row.status() == ImportReport.Status.CREATED).count();
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Roster import: {} rows, {} created, {} skipped in {} ms",
+                rows.length, created, rows.length - created, elapsed);
+        return new ImportReport(rows.length, created, rows.length - created, elapsed, report);
+    }
+
+    private String validate(RegisterRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        String role = request.getRole().trim().toLowerCase(Locale.ROOT);
+        if (!"student".equals(role) && !"faculty".equals(role)) {
+            return "Invalid role. Must be 'student' or 'faculty'";
+        }
+        return null;
+    }
+
+    private ImportReport.Row reject(int index, RegisterRequest request, ImportReport.Status status, String message) {
+        return new ImportReport.Row(index + 1, request != null ? request.getEmail() : null,
+                request != null && request.getRole() != null ? request.getRole().trim().toUpperCase(Locale.ROOT) : null,
+                status, null, message);
+    }
+
+    /**
+     * Batch inserts the accounts and their identity rows
+     *
+     * @return Generated account ids keyed by normalized email
+     */
+    private Map<String, Long> insert(List<Pending> pending, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<String, String> hashByEmail = new HashMap<>();
+        for (int i = 0; i < pending.size(); i++) {
+            hashByEmail.put(pending.get(i).normalizedEmail(), hashes.get(i));
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        for (Student.Role role : List.of(Student.Role.STUDENT, Student.Role.FACULTY)) {
+            List<Pending> accounts = pending.stream().filter(p -> p.role() == role).toList();
+            if (accounts.isEmpty()) {
+                continue;
+            }
+            String table = role == Student.Role.STUDENT ? "students" : "faculty";
+            jdbcTemplate.batchUpdate("INSERT INTO " + table +
+                            " (name, email, password, department, role, active, created_at, updated_at)" +
+                            " VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    accounts, INSERT_BATCH_SIZE, (ps, p) -> {
+                        ps.setString(1, p.request().getName());
+                        ps.setString(2, p.request().getEmail());
+                        ps.setString(3, hashByEmail.get(p.normalizedEmail()));
+                        ps.setString(4, p.request().getDepartment());
+                        ps.setString(5, role.name());
+                        ps.setBoolean(6, true);
+                        ps.setTimestamp(7, now);
+                        ps.setTimestamp(8, now);
+                    });
+
+            // IDENTITY keys are not returned from batches portably, so read them back by email
+            List<String> emails = accounts.stream().map(p -> p.request().getEmail()).toList();
+            for (int from = 0; from < emails.size(); from += ID_LOOKUP_CHUNK) {
+                List<String> chunk = emails.subList(from, Math.min(emails.size(), from + ID_LOOKUP_CHUNK));
+                namedParameterJdbcTemplate.query("SELECT id, email FROM " + table + " WHERE email IN (:emails)",
+                        Map.of("emails", chunk),
+                        rs -> {
+                            ids.put(AccountIdentity.normalize(rs.getString("email")), rs.getLong("id"));
+                        });
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO account_identities (email, role, account_id, created_at) VALUES (?, ?, ?, ?)",
+                pending, INSERT_BATCH_SIZE, (ps, p) -> {
+                    ps.setString(1, p.normalizedEmail());
+                    ps.setString(2, p.role().name());
+                    ps.setLong(3, ids.get(p.normalizedEmail()));
+                    ps.setTimestamp(4, now);
+                });
+        return ids;
+    }
+
+    /**
+     * Parses a CSV roster with a header row naming the name, email, password, department and role
+     * columns in any order; quoted fields may contain commas, quotes ("") and line breaks
+     */
+    static List<RegisterRequest> parseCsv(String csv) {
+        List<List<String>> records = readCsvRecords(csv == null ? "" : csv);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        List<String> header = records.get(0).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!header.containsAll(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must include name, email, password, department and role");
+        }
+        int name = header.indexOf("name");
+        int email = header.indexOf("email");
+        int password = header.indexOf("password");
+        int department = header.indexOf("department");
+        int role = header.indexOf("role");
+
+        List<RegisterRequest> requests = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            RegisterRequest request = new RegisterRequest();
+            request.setName(field(record, name));
+            request.setEmail(field(record, email));
+            request.setPassword(field(record, password));
+            request.setDepartment(field(record, department));
+            request.setRole(field(record, role));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : null;
+    }
+
+    private static List<List<String>> readCsvRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int start = csv.startsWith("\uFEFF") ? 1 : 0;
+        for (int i = start; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, record, field);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        endRecord(records, record, field);
+        return records;
+    }
+
+    private static void endRecord(List<List<String>> records, List<String> record, StringBuilder field) {
+        record.add(field.toString());
+        field.setLength(0);
+        // Blank lines are skipped
+        if (record.size() > 1 || !record.get(0).isBlank()) {
+            records.add(record);
+        }
+    }
+}
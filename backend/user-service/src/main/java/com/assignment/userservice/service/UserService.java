@@ -0,0 +1,55 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.dto.UserBatchRequest;
+import com.assignment.userservice.dto.UserBatchResponse;
+import com.assignment.userservice.dto.UserSummary;
+import com.assignment.userservice.repository.FacultyRepository;
+import com.assignment.userservice.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * User Service - Business Layer
+ * Read-only account lookups for other services
+ */
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final StudentRepository studentRepository;
+    private final FacultyRepository facultyRepository;
+
+    @Value("${user.batch.max-ids:1000}")
+    private int maxIds;
+
+    /**
+     * Resolves every requested id with one IN query per table
+     */
+    @Transactional(readOnly = true)
+    public UserBatchResponse findUsers(UserBatchRequest request) {
+        Set<Long> studentIds = distinct(request.getStudentIds());
+        Set<Long> facultyIds = distinct(request.getFacultyIds());
+        if (studentIds.size() + facultyIds.size() > maxIds) {
+            throw new IllegalArgumentException("Batch lookup is limited to " + maxIds + " ids per request");
+        }
+        List<UserSummary> students = studentIds.isEmpty() ? List.of() : studentRepository.findSummariesByIdIn(studentIds);
+        List<UserSummary> faculty = facultyIds.isEmpty() ? List.of() : facultyRepository.findSummariesByIdIn(facultyIds);
+        return new UserBatchResponse(students, faculty);
+    }
+
+    private static Set<Long> distinct(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
+}
@@ -1,15 +1,19 @@
 package com.assignment.userservice.controller;
 
+import com.assignment.userservice.config.SecurityConfig;
 import com.assignment.userservice.dto.AuthResponse;
 import com.assignment.userservice.dto.LoginRequest;
 import com.assignment.userservice.dto.RegisterRequest;
+import com.assignment.userservice.security.JwtTokenProvider;
 import com.assignment.userservice.service.AuthService;
+import com.assignment.userservice.service.PasswordHashingService.HashingBusyException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -24,6 +28,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests REST endpoints for authentication
  */
 @WebMvcTest(AuthController.class)
+@Import({SecurityConfig.class, JwtTokenProvider.class})
 class AuthControllerTest {
 
     @Autowired
@@ -118,6 +123,20 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Invalid credentials"));
     }
 
+    @Test
+    void testLogin_HashingQueueFull() throws Exception {
+        // Arrange
+        when(authService.login(any(LoginRequest.class))).thenThrow(new HashingBusyException());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").exists());
+    }
+
     @Test
     void testHealthCheck() throws Exception {
         mockMvc.perform(get("/api/auth/health"))
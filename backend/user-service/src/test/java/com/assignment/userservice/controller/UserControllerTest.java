@@ -0,0 +1,139 @@
+package com.assignment.userservice.controller;
+
+import com.assignment.userservice.config.SecurityConfig;
+import com.assignment.userservice.dto.ImportReport;
+import com.assignment.userservice.dto.UserBatchResponse;
+import com.assignment.userservice.security.JwtAuthenticationFilter;
+import com.assignment.userservice.security.JwtTokenProvider;
+import com.assignment.userservice.service.RosterImportService;
+import com.assignment.userservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit Tests for UserController
+ * Tests who may call the bulk import and batch lookup endpoints
+ */
+@WebMvcTest(UserController.class)
+@Import({SecurityConfig.class, JwtTokenProvider.class})
+class UserControllerTest {
+
+    private static final String CSV = "name,email,password,department,role\n"
+            + "Ada,ada@example.com,password123,CS,student\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Value("${security.service-token}")
+    private String serviceToken;
+
+    @MockBean
+    private RosterImportService rosterImportService;
+
+    @MockBean
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        ImportReport report = new ImportReport(1, 1, 0, 5, List.of());
+        when(rosterImportService.importCsv(anyString())).thenReturn(report);
+        when(rosterImportService.importAccounts(any())).thenReturn(report);
+    }
+
+    @Test
+    void testImport_AnonymousRejected() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/users/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/users/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isUnauthorized());
+
+        verify(rosterImportService, never()).importCsv(anyString());
+        verify(rosterImportService, never()).importAccounts(any());
+    }
+
+    @Test
+    void testImport_StudentForbidden() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("STUDENT"))
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isForbidden());
+
+        verify(rosterImportService, never()).importCsv(anyString());
+    }
+
+    @Test
+    void testImport_FacultyOrServiceAllowed() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("FACULTY"))
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+        mockMvc.perform(post("/api/users/import")
+                        .header(JwtAuthenticationFilter.SERVICE_TOKEN_HEADER, serviceToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/users/import")
+                        .header(JwtAuthenticationFilter.SERVICE_TOKEN_HEADER, serviceToken + "x")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testBatch_OnlyFacultyOrService() throws Exception {
+        when(userService.findUsers(any())).thenReturn(new UserBatchResponse(List.of(), List.of()));
+        String body = "{\"studentIds\":[1,2]}";
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/users/batch")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/users/batch")
+                        .header(JwtAuthenticationFilter.SERVICE_TOKEN_HEADER, serviceToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtTokenProvider.generateToken(role.toLowerCase() + "@example.com", role);
+    }
+}
@@ -0,0 +1,105 @@
+package com.assignment.userservice.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for JwtTokenProvider
+ * Tests single-parse verification and the verified-token cache
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = newProvider(3600000L);
+    }
+
+    private JwtTokenProvider newProvider(long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 100L);
+        provider.init();
+        return provider;
+    }
+
+    @Test
+    void testVerify_ReturnsPrincipalFromSingleParse() {
+        String token = jwtTokenProvider.generateToken("john@student.com", "STUDENT");
+
+        Optional<JwtPrincipal> principal = jwtTokenProvider.verify(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals("john@student.com", principal.get().email());
+        assertEquals("STUDENT", principal.get().role());
+        assertTrue(principal.get().expiresAt().isAfter(Instant.now()));
+        assertEquals("john@student.com", jwtTokenProvider.getEmailFromToken(token));
+        assertEquals("STUDENT", jwtTokenProvider.getRoleFromToken(token));
+        assertTrue(jwtTokenProvider.validateToken(token));
+    }
+
+    @Test
+    void testVerify_CachesVerifiedToken() {
+        String token = jwtTokenProvider.generateToken("john@student.com", "STUDENT");
+
+        JwtPrincipal first = jwtTokenProvider.parsePrincipal(token);
+        JwtPrincipal second = jwtTokenProvider.parsePrincipal(token);
+
+        assertSame(first, second);
+        assertEquals(1, jwtTokenProvider.getVerifiedCacheSize());
+    }
+
+    @Test
+    void testVerify_TamperedToken() {
+        String token = jwtTokenProvider.generateToken("john@student.com", "STUDENT");
+        jwtTokenProvider.verify(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtTokenProvider.verify(tampered).isEmpty());
+        assertFalse(jwtTokenProvider.validateToken(tampered));
+    }
+
+    @Test
+    void testVerify_TokenSignedWithOtherKey() {
+        String token = Jwts.builder()
+                .subject("john@student.com")
+                .claim("role", "FACULTY")
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.toLowerCase().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertTrue(jwtTokenProvider.verify(token).isEmpty());
+        assertEquals(0, jwtTokenProvider.getVerifiedCacheSize());
+    }
+
+    @Test
+    void testVerify_ExpiredToken() {
+        String token = newProvider(-1000L).generateToken("john@student.com", "STUDENT");
+
+        assertTrue(jwtTokenProvider.verify(token).isEmpty());
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenProvider.getEmailFromToken(token));
+        assertEquals(0, jwtTokenProvider.getVerifiedCacheSize());
+    }
+
+    @Test
+    void testVerify_EmptyToken() {
+        assertTrue(jwtTokenProvider.verify(null).isEmpty());
+        assertTrue(jwtTokenProvider.verify(" ").isEmpty());
+    }
+}
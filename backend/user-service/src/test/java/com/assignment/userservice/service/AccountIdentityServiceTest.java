@@ -0,0 +1,77 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.entity.AccountIdentity;
+import com.assignment.userservice.entity.Faculty;
+import com.assignment.userservice.entity.Student;
+import com.assignment.userservice.repository.AccountIdentityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for AccountIdentityService
+ * Tests email normalization, conflict handling and the startup backfill
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountIdentityServiceTest {
+
+    @Mock
+    private AccountIdentityRepository accountIdentityRepository;
+
+    @InjectMocks
+    private AccountIdentityService accountIdentityService;
+
+    @Test
+    void testIsTaken_NormalizesEmail() {
+        when(accountIdentityRepository.existsById("test@example.com")).thenReturn(true);
+
+        assertTrue(accountIdentityService.isTaken("  Test@Example.COM "));
+    }
+
+    @Test
+    void testLink_ConcurrentRegistration() {
+        when(accountIdentityRepository.saveAndFlush(any(AccountIdentity.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> accountIdentityService.link("test@example.com", Student.Role.STUDENT, 1L));
+
+        assertEquals("Email already exists", exception.getMessage());
+    }
+
+    @Test
+    void testBackfill_SkipsEmailsClaimedByAnotherAccount() {
+        Student student = new Student();
+        student.setId(1L);
+        student.setEmail("Shared@Example.com");
+        Faculty faculty = new Faculty();
+        faculty.setId(2L);
+        faculty.setEmail("shared@example.com");
+        Faculty other = new Faculty();
+        other.setId(3L);
+        other.setEmail("prof@example.com");
+        when(accountIdentityRepository.findStudentsWithoutIdentity()).thenReturn(List.of(student));
+        when(accountIdentityRepository.findFacultyWithoutIdentity()).thenReturn(List.of(faculty, other));
+        when(accountIdentityRepository.existsById(anyString())).thenReturn(false);
+
+        accountIdentityService.backfill();
+
+        ArgumentCaptor<AccountIdentity> saved = ArgumentCaptor.forClass(AccountIdentity.class);
+        verify(accountIdentityRepository, times(2)).save(saved.capture());
+        assertEquals("shared@example.com", saved.getAllValues().get(0).getEmail());
+        assertEquals(Student.Role.STUDENT, saved.getAllValues().get(0).getRole());
+        assertEquals("prof@example.com", saved.getAllValues().get(1).getEmail());
+        assertEquals(3L, saved.getAllValues().get(1).getAccountId());
+    }
+}
@@ -3,6 +3,9 @@ package com.assignment.userservice.service;
 import com.assignment.userservice.dto.AuthResponse;
 import com.assignment.userservice.dto.LoginRequest;
 import com.assignment.userservice.dto.RegisterRequest;
+import com.assignment.userservice.dto.ResolvedAccount;
+import com.assignment.userservice.entity.AccountIdentity;
+import com.assignment.userservice.entity.Faculty;
 import com.assignment.userservice.entity.Student;
 import com.assignment.userservice.repository.FacultyRepository;
 import com.assignment.userservice.repository.StudentRepository;
@@ -12,8 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -36,11 +41,17 @@ class AuthServiceTest {
     private FacultyRepository facultyRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private AccountIdentityService accountIdentityService;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AuthService authService;
 
@@ -50,6 +61,9 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         registerRequest = new RegisterRequest();
         registerRequest.setName("Test Student");
         registerRequest.setEmail("test@example.com");
@@ -74,9 +88,8 @@ class AuthServiceTest {
     @Test
     void testRegisterStudent_Success() {
         // Arrange
-        when(studentRepository.existsByEmail(anyString())).thenReturn(false);
-        when(facultyRepository.existsByEmail(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(accountIdentityService.isTaken(anyString())).thenReturn(false);
+        when(passwordHashingService.encode(anyString())).thenReturn("encodedPassword");
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
         when(jwtTokenProvider.generateToken(anyString(), anyString())).thenReturn("mockToken");
 
@@ -92,13 +105,33 @@ class AuthServiceTest {
         assertEquals("Registration successful", response.getMessage());
 
         verify(studentRepository, times(1)).save(any(Student.class));
+        verify(accountIdentityService, times(1)).link("test@example.com", Student.Role.STUDENT, 1L);
         verify(jwtTokenProvider, times(1)).generateToken("test@example.com", "STUDENT");
     }
 
+    @Test
+    void testRegister_HashesBeforeTheTransaction() {
+        // Arrange
+        when(passwordHashingService.encode("password123")).thenReturn("encodedPassword");
+        when(accountIdentityService.isTaken(anyString())).thenReturn(false);
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+
+        // Act
+        authService.register(registerRequest);
+
+        // Assert - the existence check, insert and link all run inside the transaction callback
+        InOrder order = inOrder(passwordHashingService, transactionTemplate, accountIdentityService, studentRepository);
+        order.verify(passwordHashingService).encode("password123");
+        order.verify(transactionTemplate).execute(any());
+        order.verify(accountIdentityService).isTaken("test@example.com");
+        order.verify(studentRepository).save(argThat(s -> "encodedPassword".equals(s.getPassword())));
+        order.verify(accountIdentityService).link("test@example.com", Student.Role.STUDENT, 1L);
+    }
+
     @Test
     void testRegisterStudent_EmailAlreadyExists() {
         // Arrange
-        when(studentRepository.existsByEmail(anyString())).thenReturn(true);
+        when(accountIdentityService.isTaken(anyString())).thenReturn(true);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -113,8 +146,6 @@ class AuthServiceTest {
     void testRegisterStudent_InvalidRole() {
         // Arrange
         registerRequest.setRole("invalid");
-        when(studentRepository.existsByEmail(anyString())).thenReturn(false);
-        when(facultyRepository.existsByEmail(anyString())).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -122,13 +153,15 @@ class AuthServiceTest {
         });
 
         assertEquals("Invalid role. Must be 'student' or 'faculty'", exception.getMessage());
+        verify(passwordHashingService, never()).encode(anyString());
+        verifyNoInteractions(transactionTemplate);
     }
 
     @Test
     void testLoginStudent_Success() {
         // Arrange
-        when(studentRepository.findByEmail(anyString())).thenReturn(Optional.of(testStudent));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(accountIdentityService.resolve(anyString())).thenReturn(Optional.of(studentAccount()));
+        when(passwordHashingService.matches(anyString(), anyString())).thenReturn(true);
         when(jwtTokenProvider.generateToken(anyString(), anyString())).thenReturn("mockToken");
 
         // Act
@@ -145,11 +178,37 @@ class AuthServiceTest {
         verify(jwtTokenProvider, times(1)).generateToken("test@example.com", "STUDENT");
     }
 
+    @Test
+    void testLoginFaculty_Success() {
+        // Arrange
+        Faculty faculty = new Faculty();
+        faculty.setId(2L);
+        faculty.setName("Test Faculty");
+        faculty.setEmail("faculty@example.com");
+        faculty.setPassword("encodedPassword");
+        faculty.setActive(true);
+        AccountIdentity identity = new AccountIdentity("faculty@example.com", Student.Role.FACULTY, 2L);
+        loginRequest.setEmail("Faculty@Example.com");
+        when(accountIdentityService.resolve("Faculty@Example.com"))
+                .thenReturn(Optional.of(new ResolvedAccount(identity, null, faculty)));
+        when(passwordHashingService.matches(anyString(), anyString())).thenReturn(true);
+        when(jwtTokenProvider.generateToken(anyString(), anyString())).thenReturn("mockToken");
+
+        // Act
+        AuthResponse response = authService.login(loginRequest);
+
+        // Assert
+        assertEquals("faculty@example.com", response.getEmail());
+        assertEquals("FACULTY", response.getRole());
+        verify(jwtTokenProvider, times(1)).generateToken("faculty@example.com", "FACULTY");
+        verifyNoInteractions(studentRepository, facultyRepository);
+    }
+
     @Test
     void testLoginStudent_InvalidPassword() {
         // Arrange
-        when(studentRepository.findByEmail(anyString())).thenReturn(Optional.of(testStudent));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(accountIdentityService.resolve(anyString())).thenReturn(Optional.of(studentAccount()));
+        when(passwordHashingService.matches(anyString(), anyString())).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -163,8 +222,7 @@ class AuthServiceTest {
     @Test
     void testLoginStudent_UserNotFound() {
         // Arrange
-        when(studentRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(facultyRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(accountIdentityService.resolve(anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -178,7 +236,7 @@ class AuthServiceTest {
     void testLoginStudent_AccountDeactivated() {
         // Arrange
         testStudent.setActive(false);
-        when(studentRepository.findByEmail(anyString())).thenReturn(Optional.of(testStudent));
+        when(accountIdentityService.resolve(anyString())).thenReturn(Optional.of(studentAccount()));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -188,4 +246,9 @@ class AuthServiceTest {
         assertEquals("Account is deactivated", exception.getMessage());
         verify(jwtTokenProvider, never()).generateToken(anyString(), anyString());
     }
+
+    private ResolvedAccount studentAccount() {
+        AccountIdentity identity = new AccountIdentity(testStudent.getEmail(), Student.Role.STUDENT, testStudent.getId());
+        return new ResolvedAccount(identity, testStudent, null);
+    }
 }
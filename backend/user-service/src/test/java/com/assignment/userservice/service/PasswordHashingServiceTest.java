@@ -0,0 +1,96 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.service.PasswordHashingService.HashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for PasswordHashingService
+ * Tests the bounded hashing pool and its metrics
+ */
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches_RecordHashTime() {
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 2, 4);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+
+        assertEquals("encodedPassword", passwordHashingService.encode("password123"));
+        assertTrue(passwordHashingService.matches("password123", "encodedPassword"));
+
+        assertEquals(1, meterRegistry.get("auth.hashing.time").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.hashing.time").tag("operation", "matches").timer().count());
+        assertEquals(2, meterRegistry.get("auth.hashing.queue.wait").timer().count());
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() throws Exception {
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encodedPassword";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("b"));
+        while (meterRegistry.get("auth.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(HashingBusyException.class, () -> passwordHashingService.encode("c"));
+        assertEquals(1, meterRegistry.get("auth.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("encodedPassword", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encodedPassword", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEncodeAll_KeepsInputOrder() {
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 2, 2);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+        List<String> passwords = IntStream.range(0, 10).mapToObj(i -> "password" + i).toList();
+
+        List<String> hashes = passwordHashingService.encodeAll(passwords);
+
+        assertEquals(passwords.stream().map(p -> "hash-" + p).toList(), hashes);
+        assertEquals(10, meterRegistry.get("auth.hashing.time").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testSubmit_PropagatesEncoderFailure() {
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 1);
+        when(passwordEncoder.matches(anyString(), anyString())).thenThrow(new IllegalArgumentException("bad hash"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> passwordHashingService.matches("password123", "not-a-hash"));
+        assertEquals("bad hash", e.getMessage());
+    }
+}
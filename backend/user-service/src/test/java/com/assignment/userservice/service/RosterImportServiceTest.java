@@ -0,0 +1,108 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.dto.ImportReport;
+import com.assignment.userservice.dto.RegisterRequest;
+import com.assignment.userservice.repository.AccountIdentityRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for RosterImportService
+ * Tests CSV parsing and per-row validation, duplicate and existence checks
+ */
+class RosterImportServiceTest {
+
+    private AccountIdentityRepository accountIdentityRepository;
+    private PasswordHashingService passwordHashingService;
+    private TransactionTemplate transactionTemplate;
+    private RosterImportService rosterImportService;
+
+    @BeforeEach
+    void setUp() {
+        accountIdentityRepository = mock(AccountIdentityRepository.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        rosterImportService = new RosterImportService(accountIdentityRepository, passwordHashingService,
+                mock(JdbcTemplate.class), mock(NamedParameterJdbcTemplate.class), transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(rosterImportService, "maxRows", 100);
+    }
+
+    @Test
+    void testParseCsv_HeaderOrderAndQuotedFields() {
+        String csv = "﻿Role,Email,Name,Password,Department\r\n" +
+                "student,a@uni.edu,\"Doe, Jane\",secret1,CS\r\n" +
+                "\r\n" +
+                "faculty,b@uni.edu,\"Dr \"\"B\"\"\",secret2,\"Maths\nDept\"\n";
+
+        List<RegisterRequest> requests = RosterImportService.parseCsv(csv);
+
+        assertEquals(2, requests.size());
+        assertEquals("Doe, Jane", requests.get(0).getName());
+        assertEquals("a@uni.edu", requests.get(0).getEmail());
+        assertEquals("student", requests.get(0).getRole());
+        assertEquals("Dr \"B\"", requests.get(1).getName());
+        assertEquals("Maths\nDept", requests.get(1).getDepartment());
+    }
+
+    @Test
+    void testParseCsv_MissingColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RosterImportService.parseCsv("name,email,password\nA,a@uni.edu,secret1\n"));
+    }
+
+    @Test
+    void testImportAccounts_ReportsEveryRow() {
+        List<RegisterRequest> requests = List.of(
+                request("Jane Doe", "jane@uni.edu", "student"),
+                request("Jane Again", "JANE@uni.edu", "student"),
+                request("Taken", "taken@uni.edu", "student"),
+                request("Bad Role", "role@uni.edu", "admin"),
+                request("Prof", "prof@uni.edu", "Faculty"));
+        when(accountIdentityRepository.findExistingEmails(anyList())).thenReturn(List.of("taken@uni.edu"));
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("hash1", "hash2"));
+        when(transactionTemplate.execute(any())).thenReturn(Map.of("jane@uni.edu", 10L, "prof@uni.edu", 11L));
+
+        ImportReport report = rosterImportService.importAccounts(requests);
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(3, report.getSkipped());
+        assertEquals(ImportReport.Status.CREATED, report.getRows().get(0).status());
+        assertEquals(10L, report.getRows().get(0).accountId());
+        assertEquals("Duplicate of row 1", report.getRows().get(1).message());
+        assertEquals("Email already exists", report.getRows().get(2).message());
+        assertEquals(ImportReport.Status.INVALID, report.getRows().get(3).status());
+        assertEquals("FACULTY", report.getRows().get(4).role());
+        verify(accountIdentityRepository, times(1))
+                .findExistingEmails(List.of("jane@uni.edu", "taken@uni.edu", "prof@uni.edu"));
+        verify(passwordHashingService, times(1)).encodeAll(List.of("password123", "password123"));
+    }
+
+    @Test
+    void testImportAccounts_TooManyRows() {
+        ReflectionTestUtils.setField(rosterImportService, "maxRows", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> rosterImportService.importAccounts(List.of(
+                request("Jane Doe", "jane@uni.edu", "student"),
+                request("John Doe", "john@uni.edu", "student"))));
+        verifyNoInteractions(accountIdentityRepository, passwordHashingService);
+    }
+
+    private RegisterRequest request(String name, String email, String role) {
+        return new RegisterRequest(name, email, "password123", "CS", role);
+    }
+}
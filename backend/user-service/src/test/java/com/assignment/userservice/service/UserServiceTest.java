@@ -0,0 +1,64 @@
+package com.assignment.userservice.service;
+
+import com.assignment.userservice.dto.UserBatchRequest;
+import com.assignment.userservice.dto.UserBatchResponse;
+import com.assignment.userservice.dto.UserSummary;
+import com.assignment.userservice.entity.Student;
+import com.assignment.userservice.repository.FacultyRepository;
+import com.assignment.userservice.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for UserService
+ * Tests batch lookups by id
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private FacultyRepository facultyRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "maxIds", 3);
+    }
+
+    @Test
+    void testFindUsers_OneQueryPerTableWithDistinctIds() {
+        UserSummary student = new UserSummary(1L, "Jane Doe", "jane@uni.edu", "CS", Student.Role.STUDENT, true);
+        when(studentRepository.findSummariesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(student));
+
+        UserBatchResponse response = userService.findUsers(new UserBatchRequest(Arrays.asList(1L, 2L, 1L, null), null));
+
+        assertEquals(List.of(student), response.getStudents());
+        assertTrue(response.getFaculty().isEmpty());
+        verify(studentRepository, times(1)).findSummariesByIdIn(Set.of(1L, 2L));
+        verifyNoInteractions(facultyRepository);
+    }
+
+    @Test
+    void testFindUsers_TooManyIds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findUsers(new UserBatchRequest(List.of(1L, 2L), List.of(3L, 4L))));
+        verifyNoInteractions(studentRepository, facultyRepository);
+    }
+}